@@ -0,0 +1,25 @@
+#!/bin/sh
+# Desmonta o jar executável do Spring Boot em "destino": as classes da aplicação em app.jar, as
+# dependências em lib/ e, em java.args, o classpath na ordem de BOOT-INF/classpath.idx seguido da
+# classe principal. A JVM só arquiva com CDS classes de jars comuns no classpath, não as de jars
+# aninhados, então é desse layout que o arquivo app.jsa é gerado e usado:
+#   java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh @java.args
+#   java -XX:SharedArchiveFile=app.jsa @java.args
+# Uso: extrair.sh <jar executável> <destino>
+set -eu
+
+jar_executavel=$(realpath "$1")
+destino=$2
+trabalho=$(mktemp -d)
+
+(cd "$trabalho" && jar -xf "$jar_executavel")
+mkdir -p "$destino/lib"
+mv "$trabalho"/BOOT-INF/lib/*.jar "$destino/lib/"
+jar -cf "$destino/app.jar" -C "$trabalho/BOOT-INF/classes" .
+{
+  printf -- '-cp app.jar'
+  sed -n 's|^- "BOOT-INF/\(lib/.*\)"$|:\1|p' "$trabalho/BOOT-INF/classpath.idx" | tr -d '\r\n'
+  printf '\n'
+  sed -n 's|^Start-Class: *||p' "$trabalho/META-INF/MANIFEST.MF" | tr -d '\r'
+} > "$destino/java.args"
+rm -rf "$trabalho"
@@ -0,0 +1,162 @@
+package com.lojajogos.embalagem.config;
+
+import com.lojajogos.embalagem.model.ObjetivoOtimizacao;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "embalagem")
+public class EmbalagemProperties {
+  private TipoEstrategia estrategiaPadrao = TipoEstrategia.EXAUSTIVA;
+
+  // Prazo por pedido; zero desativa o limite.
+  private Duration tempoLimite = Duration.ofSeconds(2);
+
+  // Heurística que completa o pedido quando o prazo se esgota.
+  private TipoEstrategia estrategiaReserva = TipoEstrategia.FIRST_FIT_DECREASING;
+
+  private Paralelismo paralelismo = new Paralelismo();
+
+  private Otimizacao otimizacao = new Otimizacao();
+
+  private Catalogo catalogo = new Catalogo();
+
+  // Grupos já calculados pela busca exaustiva, por tipo de caixa e conjunto de produtos restantes.
+  private Cache cacheEncaixe = new Cache();
+
+  // Resultados completos por estratégia e medidas do pedido, reaproveitados em pedidos repetidos.
+  private Cache cachePedidos = new Cache(10_000, Duration.ofMinutes(10));
+
+  // Verificações de senha bem-sucedidas, para não repetir o BCrypt a cada requisição.
+  private Cache cacheCredenciais = new Cache(1_000, Duration.ofMinutes(5));
+
+  private Jobs jobs = new Jobs();
+
+  // Pedidos sintéticos empacotados na inicialização, antes de a aplicação se declarar pronta.
+  private Aquecimento aquecimento = new Aquecimento();
+
+  @Data
+  public static class Paralelismo {
+    // Threads do pool compartilhado de empacotamento; zero usa o número de processadores.
+    private int threads;
+
+    // Máximo de pedidos de um mesmo lote processados ao mesmo tempo, para que lotes grandes
+    // simultâneos não monopolizem o pool; zero usa o tamanho do pool.
+    private int maxPorLote;
+
+    // Subconjuntos candidatos a partir dos quais a busca exaustiva de um pedido é dividida entre
+    // as threads do pool.
+    private long limiarBusca = 50_000;
+
+    // Pedidos empacotados ao mesmo tempo em toda a aplicação, somando todos os lotes e
+    // requisições; zero usa o tamanho do pool.
+    private int maxEmpacotamentos;
+
+    public int threadsEfetivas() {
+      return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int maxPorLoteEfetivo() {
+      return maxPorLote > 0 ? maxPorLote : threadsEfetivas();
+    }
+
+    public int maxEmpacotamentosEfetivo() {
+      return maxEmpacotamentos > 0 ? maxEmpacotamentos : threadsEfetivas();
+    }
+  }
+
+  @Data
+  public static class Otimizacao {
+    // Grandeza minimizada pela estratégia otimizada.
+    private ObjetivoOtimizacao objetivo = ObjetivoOtimizacao.CUSTO;
+
+    // Pedidos com mais produtos (fora os de caixa especial) recebem só a solução gulosa, sem
+    // busca; no máximo 30, porque os produtos restantes são guardados num int.
+    private int maxItens = 20;
+
+    // Nós da busca por pedido; ao atingir o limite (ou o tempo-limite) a busca para e devolve a
+    // melhor solução encontrada até ali. No OtimizacaoBenchmark, com 20 itens, 10 mil nós melhoram
+    // o custo em só 0,4% e levam dez vezes mais tempo que mil.
+    private long maxNos = 1_000;
+
+    // Conjuntos de produtos restantes memorizados por pedido.
+    private int maxEstados = 100_000;
+
+    public int maxItensEfetivo() {
+      return Math.min(maxItens, Integer.SIZE - 2);
+    }
+  }
+
+  @Data
+  public static class Jobs {
+    // Lotes assíncronos executados ao mesmo tempo.
+    private int threads = 2;
+
+    // Lotes aguardando execução; acima disso a submissão é recusada com 429.
+    private int fila = 16;
+
+    // Jobs concluídos guardados para consulta, com tempo de vida contado a partir da conclusão.
+    private Cache resultados = new Cache(1_000, Duration.ofMinutes(30));
+  }
+
+  @Data
+  public static class Aquecimento {
+    // Desativado por padrão: atrasa a prontidão para que as primeiras requisições já encontrem o
+    // empacotamento e o Jackson compilados.
+    private boolean habilitado;
+
+    // Pedidos sintéticos processados, em lotes como os da API.
+    private int pedidos = 1_000;
+
+    // Ao esgotar, o aquecimento para onde estiver e a aplicação fica pronta assim mesmo.
+    private Duration tempoMaximo = Duration.ofSeconds(30);
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Cache {
+    // Número máximo de entradas; zero desativa o cache.
+    private long maxEntradas = 100_000;
+
+    // Tempo de vida de cada entrada; vazio ou zero mantém até ser descartada por tamanho.
+    private Duration ttl;
+  }
+
+  @Data
+  public static class Catalogo {
+    // Arquivo JSON com a lista de caixas; quando informado, substitui a lista abaixo.
+    private String arquivo;
+
+    // Medidas de produto com a compatibilidade com os tipos (em quais cabe e quantas unidades
+    // empilhadas) guardada por versão do catálogo; zero calcula a cada consulta.
+    private long maxCompatibilidades = 10_000;
+
+    private List<ItemCatalogo> caixas =
+        new ArrayList<>(
+            List.of(
+                new ItemCatalogo("Caixa 1", 30, 40, 80, new BigDecimal("1.20")),
+                new ItemCatalogo("Caixa 2", 80, 50, 40, new BigDecimal("1.80")),
+                new ItemCatalogo("Caixa 3", 50, 80, 60, new BigDecimal("2.50"))));
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class ItemCatalogo {
+    private String id;
+    private int altura;
+    private int largura;
+    private int comprimento;
+    private BigDecimal custo;
+  }
+}
@@ -0,0 +1,51 @@
+package com.lojajogos.embalagem.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class ExecutorConfig {
+
+  @Bean(destroyMethod = "shutdown")
+  public ForkJoinPool poolEmpacotamento(EmbalagemProperties properties) {
+    return new ForkJoinPool(properties.getParalelismo().threadsEfetivas());
+  }
+
+  // Threads que recebem os pedidos de um lote. Com spring.threads.virtual.enabled (Java 21), cada
+  // pedido ganha uma thread virtual; sem isso, os pedidos rodam num pool fixo com uma thread por
+  // vaga de max-empacotamentos. Em nenhum dos casos eles ocupam o pool de empacotamento: quem
+  // espera vaga no semáforo não pode ser uma thread da qual a busca de quem já tem a vaga depende.
+  @Bean
+  public Executor executorPedidos(EmbalagemProperties properties, Environment environment) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return new VirtualThreadTaskExecutor("pedido-");
+    }
+    return Executors.newFixedThreadPool(
+        properties.getParalelismo().maxEmpacotamentosEfetivo(),
+        new CustomizableThreadFactory("pedido-"));
+  }
+
+  // Jobs assíncronos: poucas threads, que só coordenam o lote (os pedidos rodam em
+  // executorPedidos), e fila limitada cuja lotação rejeita novas submissões.
+  @Bean(destroyMethod = "shutdownNow")
+  public ThreadPoolExecutor executorJobs(EmbalagemProperties properties) {
+    EmbalagemProperties.Jobs jobs = properties.getJobs();
+    return new ThreadPoolExecutor(
+        jobs.getThreads(),
+        jobs.getThreads(),
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(jobs.getFila()),
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+}
@@ -0,0 +1,88 @@
+package com.lojajogos.embalagem.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CachePedidos;
+import com.lojajogos.embalagem.service.impl.ContadoresPoda;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Contadores que já existem nos caches e na busca exaustiva, expostos como medidores lidos só na
+// coleta, sem custo no caminho do empacotamento.
+@Configuration
+public class MetricasConfig {
+
+  @Bean
+  public MeterBinder metricasCaches(
+      CachePedidos cachePedidos, CacheEncaixe cacheEncaixe, CatalogoService catalogoService) {
+    return registry -> {
+      registrarCache(
+          registry, "pedidos", cachePedidos, CachePedidos::estatisticas, CachePedidos::tamanho);
+      registrarCache(
+          registry, "encaixe", cacheEncaixe, CacheEncaixe::estatisticas, CacheEncaixe::tamanho);
+      // a tabela é da versão vigente do catálogo, então os contadores recomeçam a cada troca
+      registrarCache(
+          registry,
+          "compatibilidade",
+          catalogoService,
+          catalogo -> catalogo.atual().estatisticasCompatibilidade(),
+          catalogo -> catalogo.atual().tamanhoCompatibilidades());
+    };
+  }
+
+  @Bean
+  public MeterBinder metricasPoda(EstrategiaExaustiva estrategiaExaustiva) {
+    return registry -> {
+      ContadoresPoda contadores = estrategiaExaustiva.getContadoresPoda();
+      registrarPoda(registry, contadores, "dominancia", ContadoresPoda::getProdutosPorDominancia);
+      registrarPoda(registry, contadores, "limite", ContadoresPoda::getTamanhosPorLimite);
+      registrarPoda(registry, contadores, "volume", ContadoresPoda::getGruposPorVolume);
+      registrarPoda(registry, contadores, "extensao", ContadoresPoda::getGruposPorExtensao);
+      FunctionCounter.builder(
+              "embalagem.busca.grupos.testados", contadores, ContadoresPoda::getGruposTestados)
+          .description("Grupos que chegaram ao teste de encaixe completo")
+          .register(registry);
+    };
+  }
+
+  // O Micrometer guarda só uma referência fraca ao objeto medido, por isso o objeto é o próprio
+  // bean do cache, e não um lambda.
+  private static <T> void registrarCache(
+      MeterRegistry registry,
+      String cache,
+      T origem,
+      Function<T, CacheStats> stats,
+      ToDoubleFunction<T> tamanho) {
+    FunctionCounter.builder("embalagem.cache.acertos", origem, o -> stats.apply(o).hitCount())
+        .tag("cache", cache)
+        .register(registry);
+    FunctionCounter.builder("embalagem.cache.falhas", origem, o -> stats.apply(o).missCount())
+        .tag("cache", cache)
+        .register(registry);
+    FunctionCounter.builder("embalagem.cache.despejos", origem, o -> stats.apply(o).evictionCount())
+        .tag("cache", cache)
+        .register(registry);
+    Gauge.builder("embalagem.cache.tamanho", origem, tamanho)
+        .tag("cache", cache)
+        .register(registry);
+  }
+
+  private static void registrarPoda(
+      MeterRegistry registry,
+      ContadoresPoda contadores,
+      String motivo,
+      ToDoubleFunction<ContadoresPoda> valor) {
+    FunctionCounter.builder("embalagem.busca.podas", contadores, valor)
+        .description("Produtos, tamanhos ou grupos descartados pelos filtros da busca exaustiva")
+        .tag("motivo", motivo)
+        .register(registry);
+  }
+}
@@ -0,0 +1,71 @@
+package com.lojajogos.embalagem.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+// Com HTTP Basic sem sessão, toda requisição verifica a senha de novo, e o BCrypt custa dezenas de
+// milissegundos de CPU. Este encoder lembra por pouco tempo as verificações bem-sucedidas, pela
+// chave SHA-256 de senha e hash: a senha em claro não fica em memória, uma troca de senha muda o
+// hash e portanto a chave, e tentativas erradas sempre pagam o BCrypt completo.
+public class PasswordEncoderComCache implements PasswordEncoder {
+
+  private final PasswordEncoder delegado;
+  private final Cache<String, Boolean> verificadas;
+
+  public PasswordEncoderComCache(PasswordEncoder delegado, EmbalagemProperties.Cache configuracao) {
+    this.delegado = delegado;
+    if (configuracao.getMaxEntradas() <= 0) {
+      this.verificadas = null;
+      return;
+    }
+    Caffeine<Object, Object> builder =
+        Caffeine.newBuilder().maximumSize(configuracao.getMaxEntradas());
+    if (configuracao.getTtl() != null && !configuracao.getTtl().isZero()) {
+      builder.expireAfterWrite(configuracao.getTtl());
+    }
+    this.verificadas = builder.build();
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegado.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (verificadas == null || rawPassword == null || encodedPassword == null) {
+      return delegado.matches(rawPassword, encodedPassword);
+    }
+    String chave = chave(rawPassword, encodedPassword);
+    if (verificadas.getIfPresent(chave) != null) {
+      return true;
+    }
+    boolean confere = delegado.matches(rawPassword, encodedPassword);
+    if (confere) {
+      verificadas.put(chave, Boolean.TRUE);
+    }
+    return confere;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegado.upgradeEncoding(encodedPassword);
+  }
+
+  private static String chave(CharSequence rawPassword, String encodedPassword) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      sha256.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+      sha256.update((byte) 0);
+      sha256.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+      return Base64.getEncoder().encodeToString(sha256.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 indisponível", e);
+    }
+  }
+}
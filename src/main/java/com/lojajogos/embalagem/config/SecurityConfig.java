@@ -1,5 +1,6 @@
 package com.lojajogos.embalagem.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,7 +23,15 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             authorize ->
                 authorize
-                    .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html")
+                    // o despacho final das respostas em fluxo já foi autorizado na requisição
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers(
+                        "/v3/api-docs/**",
+                        "/swagger-ui/**",
+                        "/swagger-ui.html",
+                        "/actuator/health",
+                        "/actuator/health/**")
                     .permitAll()
                     .anyRequest()
                     .authenticated())
@@ -34,18 +43,19 @@ public class SecurityConfig {
   }
 
   @Bean
-  public InMemoryUserDetailsManager userDetailsService() {
+  public InMemoryUserDetailsManager userDetailsService(PasswordEncoder passwordEncoder) {
     UserDetails user =
         User.builder()
             .username("admin")
-            .password(passwordEncoder().encode("admin"))
+            .password(passwordEncoder.encode("admin"))
             .roles("ADMIN")
             .build();
     return new InMemoryUserDetailsManager(user);
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(EmbalagemProperties properties) {
+    return new PasswordEncoderComCache(
+        new BCryptPasswordEncoder(), properties.getCacheCredenciais());
   }
 }
@@ -0,0 +1,35 @@
+package com.lojajogos.embalagem.controller;
+
+import com.lojajogos.embalagem.dto.response.EstatisticasPodaDTO;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/embalagens/busca")
+@Tag(name = "Busca API", description = "Estatísticas da busca exaustiva")
+public class BuscaController {
+
+  private final EstrategiaExaustiva estrategiaExaustiva;
+
+  @Autowired
+  public BuscaController(EstrategiaExaustiva estrategiaExaustiva) {
+    this.estrategiaExaustiva = estrategiaExaustiva;
+  }
+
+  @GetMapping("/podas")
+  @Operation(
+      summary = "Descartes dos filtros da busca exaustiva",
+      description =
+          "Produtos, tamanhos de grupo e grupos descartados por cada filtro antes do teste de encaixe",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  public ResponseEntity<EstatisticasPodaDTO> podas() {
+    return ResponseEntity.ok(EstatisticasPodaDTO.de(estrategiaExaustiva.getContadoresPoda()));
+  }
+}
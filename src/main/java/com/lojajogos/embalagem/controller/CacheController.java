@@ -0,0 +1,55 @@
+package com.lojajogos.embalagem.controller;
+
+import com.lojajogos.embalagem.dto.response.EstatisticasCacheDTO;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CachePedidos;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/embalagens/cache")
+@Tag(name = "Cache API", description = "Estatísticas dos caches de empacotamento")
+public class CacheController {
+
+  private final CacheEncaixe cacheEncaixe;
+  private final CachePedidos cachePedidos;
+  private final CatalogoService catalogoService;
+
+  @Autowired
+  public CacheController(
+      CacheEncaixe cacheEncaixe, CachePedidos cachePedidos, CatalogoService catalogoService) {
+    this.cacheEncaixe = cacheEncaixe;
+    this.cachePedidos = cachePedidos;
+    this.catalogoService = catalogoService;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Estatísticas dos caches",
+      description = "Tamanho, acertos, falhas, taxa de acerto e despejos de cada cache",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  public ResponseEntity<Map<String, EstatisticasCacheDTO>> estatisticas() {
+    Map<String, EstatisticasCacheDTO> estatisticas = new LinkedHashMap<>();
+    estatisticas.put(
+        "pedidos", EstatisticasCacheDTO.de(cachePedidos.tamanho(), cachePedidos.estatisticas()));
+    estatisticas.put(
+        "encaixe", EstatisticasCacheDTO.de(cacheEncaixe.tamanho(), cacheEncaixe.estatisticas()));
+    // a tabela é da versão atual do catálogo e recomeça a cada troca
+    CatalogoCaixas catalogo = catalogoService.atual();
+    estatisticas.put(
+        "compatibilidade",
+        EstatisticasCacheDTO.de(
+            catalogo.tamanhoCompatibilidades(), catalogo.estatisticasCompatibilidade()));
+    return ResponseEntity.ok(estatisticas);
+  }
+}
@@ -0,0 +1,83 @@
+package com.lojajogos.embalagem.controller;
+
+import com.lojajogos.embalagem.dto.response.CatalogoDTO;
+import com.lojajogos.embalagem.dto.response.TipoCaixaDTO;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/v1/embalagens/catalogo")
+@Tag(name = "Catálogo API", description = "Catálogo de tipos de caixa em vigor")
+public class CatalogoController {
+
+  private final CatalogoService catalogoService;
+
+  @Autowired
+  public CatalogoController(CatalogoService catalogoService) {
+    this.catalogoService = catalogoService;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Consultar catálogo",
+      description = "Tipos de caixa em vigor, na ordem usada pela busca",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  public ResponseEntity<CatalogoDTO> consultar() {
+    return ResponseEntity.ok(converter(catalogoService.atual()));
+  }
+
+  @PostMapping("/recarregar")
+  @Operation(
+      summary = "Recarregar catálogo",
+      description =
+          "Relê o catálogo da configuração ou do arquivo configurado e o coloca em vigor sem"
+              + " reiniciar a aplicação",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo recarregado"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Catálogo inválido; o catálogo anterior continua em vigor")
+      })
+  public ResponseEntity<CatalogoDTO> recarregar() {
+    try {
+      return ResponseEntity.ok(converter(catalogoService.recarregar()));
+    } catch (IllegalArgumentException | UncheckedIOException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  private CatalogoDTO converter(CatalogoCaixas catalogo) {
+    List<TipoCaixaDTO> caixas =
+        catalogo.getTipos().stream().map(this::converter).collect(Collectors.toList());
+    return new CatalogoDTO(catalogo.getVersao(), caixas);
+  }
+
+  private TipoCaixaDTO converter(TipoCaixa tipo) {
+    return new TipoCaixaDTO(
+        tipo.getId(),
+        tipo.getDimensoes().getAltura(),
+        tipo.getDimensoes().getLargura(),
+        tipo.getDimensoes().getComprimento(),
+        tipo.getVolume(),
+        tipo.getCusto());
+  }
+}
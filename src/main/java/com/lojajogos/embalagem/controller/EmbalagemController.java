@@ -2,26 +2,38 @@ package com.lojajogos.embalagem.controller;
 
 import com.lojajogos.embalagem.dto.request.PedidoDTO;
 import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.TipoEstrategia;
 import com.lojajogos.embalagem.service.impl.EmbalagensServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/embalagens")
 @Tag(name = "Embalagens API", description = "API para otimização de embalagens para pedidos")
 public class EmbalagemController {
 
+  static final String HEADER_ESTRATEGIA = "X-Estrategia-Empacotamento";
+
   private final EmbalagensServiceImpl embalagensServiceImpl;
 
   @Autowired
@@ -43,9 +55,62 @@ public class EmbalagemController {
         @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
       })
   public ResponseEntity<ResponseDTO> otimizarEmbalagens(
-      @RequestBody Map<String, List<PedidoDTO>> request) {
+      @RequestBody Map<String, List<PedidoDTO>> request,
+      @Parameter(
+              description =
+                  "Estratégia de empacotamento: exaustiva, first-fit-decreasing, "
+                      + "best-fit-decreasing, pontos-extremos ou otimizada")
+          @RequestParam(value = "estrategia", required = false)
+          String estrategia,
+      @Parameter(description = "Alternativa ao parâmetro estrategia")
+          @RequestHeader(value = HEADER_ESTRATEGIA, required = false)
+          String estrategiaHeader) {
     List<PedidoDTO> pedidos = request.get("pedidos");
-    ResponseDTO response = embalagensServiceImpl.processarPedidos(pedidos);
+    ResponseDTO response =
+        embalagensServiceImpl.processarPedidos(
+            pedidos, resolverEstrategia(estrategia != null ? estrategia : estrategiaHeader));
     return ResponseEntity.ok(response);
   }
+
+  @PostMapping(
+      value = "/fluxo",
+      consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Otimizar embalagens de um fluxo de pedidos",
+      description =
+          "Recebe um pedido JSON por linha e devolve cada resposta em uma linha assim que fica pronta,"
+              + " na ordem de conclusão",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Respostas enviadas conforme processadas"),
+        @ApiResponse(responseCode = "400", description = "Estratégia desconhecida"),
+        @ApiResponse(responseCode = "401", description = "Não autorizado")
+      })
+  public ResponseEntity<StreamingResponseBody> otimizarFluxo(
+      HttpServletRequest request,
+      @RequestParam(value = "estrategia", required = false) String estrategia,
+      @RequestHeader(value = HEADER_ESTRATEGIA, required = false) String estrategiaHeader) {
+    // resolvida antes de abrir a resposta, para que o 400 ainda possa ser enviado
+    TipoEstrategia tipo = resolverEstrategia(estrategia != null ? estrategia : estrategiaHeader);
+    StreamingResponseBody corpo =
+        saida -> {
+          try (InputStream entrada = request.getInputStream()) {
+            embalagensServiceImpl.processarFluxo(entrada, saida, tipo);
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+  }
+
+  static TipoEstrategia resolverEstrategia(String estrategia) {
+    if (estrategia == null || estrategia.isBlank()) {
+      return null;
+    }
+    try {
+      return TipoEstrategia.de(estrategia);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
 }
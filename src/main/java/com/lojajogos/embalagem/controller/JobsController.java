@@ -0,0 +1,109 @@
+package com.lojajogos.embalagem.controller;
+
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.JobDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.StatusJob;
+import com.lojajogos.embalagem.service.JobsEmbalagemService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/v1/embalagens/jobs")
+@Tag(name = "Jobs API", description = "Lotes de pedidos processados de forma assíncrona")
+public class JobsController {
+
+  private final JobsEmbalagemService jobsService;
+
+  @Autowired
+  public JobsController(JobsEmbalagemService jobsService) {
+    this.jobsService = jobsService;
+  }
+
+  @PostMapping
+  @Operation(
+      summary = "Submeter lote de pedidos",
+      description =
+          "Aceita o mesmo corpo de POST /api/v1/embalagens e retorna o id do job imediatamente",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "202", description = "Job aceito"),
+        @ApiResponse(responseCode = "400", description = "Estratégia desconhecida"),
+        @ApiResponse(responseCode = "429", description = "Fila de jobs cheia")
+      })
+  public ResponseEntity<JobDTO> submeter(
+      @RequestBody Map<String, List<PedidoDTO>> request,
+      @RequestParam(value = "estrategia", required = false) String estrategia,
+      @RequestHeader(value = EmbalagemController.HEADER_ESTRATEGIA, required = false)
+          String estrategiaHeader) {
+    JobDTO job;
+    try {
+      job =
+          jobsService.submeter(
+              request.get("pedidos"),
+              EmbalagemController.resolverEstrategia(
+                  estrategia != null ? estrategia : estrategiaHeader));
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(
+          HttpStatus.TOO_MANY_REQUESTS, "Fila de jobs cheia, tente novamente mais tarde", e);
+    }
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/v1/embalagens/jobs/" + job.getJob_id()))
+        .body(job);
+  }
+
+  @GetMapping("/{id}")
+  @Operation(
+      summary = "Consultar job",
+      description = "Estado e progresso (pedidos concluídos do total)",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  public ResponseEntity<JobDTO> consultar(@PathVariable String id) {
+    return ResponseEntity.ok(buscar(id));
+  }
+
+  @GetMapping("/{id}/resultado")
+  @Operation(
+      summary = "Resultado do job",
+      description = "Mesma resposta de POST /api/v1/embalagens; 409 enquanto o job não termina",
+      security = @SecurityRequirement(name = "bearerAuth"))
+  public ResponseEntity<ResponseDTO> resultado(@PathVariable String id) {
+    JobDTO job = buscar(id);
+    if (job.getStatus() == StatusJob.FALHOU) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Job falhou: " + job.getErro());
+    }
+    return jobsService
+        .resultado(id)
+        .map(ResponseEntity::ok)
+        .orElseThrow(
+            () ->
+                new ResponseStatusException(
+                    HttpStatus.CONFLICT, "Job ainda em andamento: " + job.getStatus()));
+  }
+
+  private JobDTO buscar(String id) {
+    return jobsService
+        .consultar(id)
+        .orElseThrow(
+            () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job não encontrado: " + id));
+  }
+}
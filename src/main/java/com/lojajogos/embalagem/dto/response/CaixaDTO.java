@@ -1,5 +1,6 @@
 package com.lojajogos.embalagem.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,4 +13,12 @@ public class CaixaDTO {
   private String caixa_id;
   private List<String> produtos;
   private String observacao;
+
+  // Onde cada produto foi colocado, na ordem de "produtos"; ausente nas caixas especiais.
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private List<PosicaoDTO> posicoes;
+
+  public CaixaDTO(String caixa_id, List<String> produtos, String observacao) {
+    this(caixa_id, produtos, observacao, null);
+  }
 }
@@ -0,0 +1,14 @@
+package com.lojajogos.embalagem.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoDTO {
+  private long versao;
+  private List<TipoCaixaDTO> caixas;
+}
@@ -0,0 +1,22 @@
+package com.lojajogos.embalagem.dto.response;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasCacheDTO {
+  private long tamanho;
+  private long acertos;
+  private long falhas;
+  private double taxa_acerto;
+  private long despejos;
+
+  public static EstatisticasCacheDTO de(long tamanho, CacheStats stats) {
+    return new EstatisticasCacheDTO(
+        tamanho, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+  }
+}
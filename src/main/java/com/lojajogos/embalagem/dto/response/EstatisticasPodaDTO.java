@@ -0,0 +1,26 @@
+package com.lojajogos.embalagem.dto.response;
+
+import com.lojajogos.embalagem.service.impl.ContadoresPoda;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasPodaDTO {
+  private long produtos_descartados_dominancia;
+  private long tamanhos_pulados_limite;
+  private long grupos_testados;
+  private long grupos_descartados_volume;
+  private long grupos_descartados_extensao;
+
+  public static EstatisticasPodaDTO de(ContadoresPoda contadores) {
+    return new EstatisticasPodaDTO(
+        contadores.getProdutosPorDominancia(),
+        contadores.getTamanhosPorLimite(),
+        contadores.getGruposTestados(),
+        contadores.getGruposPorVolume(),
+        contadores.getGruposPorExtensao());
+  }
+}
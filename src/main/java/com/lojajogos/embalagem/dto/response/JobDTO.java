@@ -0,0 +1,22 @@
+package com.lojajogos.embalagem.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lojajogos.embalagem.model.StatusJob;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDTO {
+  private String job_id;
+  private StatusJob status;
+  private int pedidos_concluidos;
+  private int pedidos_total;
+  private Instant criado_em;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String erro;
+}
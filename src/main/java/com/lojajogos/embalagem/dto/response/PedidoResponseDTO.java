@@ -1,5 +1,6 @@
 package com.lojajogos.embalagem.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,4 +12,26 @@ import lombok.NoArgsConstructor;
 public class PedidoResponseDTO {
   private int pedido_id;
   private List<CaixaDTO> caixas;
+  private Boolean otimo;
+  private Long tempo_ms;
+  private Long nos_explorados;
+
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String erro;
+
+  public PedidoResponseDTO(int pedido_id, List<CaixaDTO> caixas) {
+    this.pedido_id = pedido_id;
+    this.caixas = caixas;
+  }
+
+  public PedidoResponseDTO(
+      int pedido_id, List<CaixaDTO> caixas, Boolean otimo, Long tempo_ms, Long nos_explorados) {
+    this(pedido_id, caixas, otimo, tempo_ms, nos_explorados, null);
+  }
+
+  public static PedidoResponseDTO comErro(int pedido_id, String erro) {
+    PedidoResponseDTO response = new PedidoResponseDTO(pedido_id, List.of());
+    response.setErro(erro);
+    return response;
+  }
 }
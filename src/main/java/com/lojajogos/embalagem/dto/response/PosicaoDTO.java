@@ -0,0 +1,30 @@
+package com.lojajogos.embalagem.dto.response;
+
+import com.lojajogos.embalagem.model.Posicao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PosicaoDTO {
+  private String produto_id;
+  private int x;
+  private int y;
+  private int z;
+  private int comprimento;
+  private int largura;
+  private int altura;
+
+  public static PosicaoDTO de(String produtoId, Posicao posicao) {
+    return new PosicaoDTO(
+        produtoId,
+        posicao.getX(),
+        posicao.getY(),
+        posicao.getZ(),
+        posicao.getComprimento(),
+        posicao.getLargura(),
+        posicao.getAltura());
+  }
+}
@@ -0,0 +1,18 @@
+package com.lojajogos.embalagem.dto.response;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TipoCaixaDTO {
+  private String caixa_id;
+  private int altura;
+  private int largura;
+  private int comprimento;
+  private long volume;
+  private BigDecimal custo;
+}
@@ -11,7 +11,9 @@ public class Caixa {
   private String id;
   private Dimensao dimensoes;
   private List<Produto> produtos;
-  private int volumeDisponivel;
+  private long volumeDisponivel;
+  // posição de cada produto, na mesma ordem de "produtos"; null quando não foi calculada
+  private List<Posicao> posicoes;
 
   public Caixa(String id, Dimensao dimensoes) {
     this.id = id;
@@ -20,42 +22,12 @@ public class Caixa {
     this.volumeDisponivel = dimensoes.getVolume();
   }
 
+  // O produto cabe sozinho na caixa, em alguma das seis orientações.
   public boolean podeAdicionar(Produto produto) {
-    // Verificar se o produto cabe na dimensão física da caixa
     Dimensao dimProduto = produto.getDimensoes();
-    Dimensao dimCaixa = this.dimensoes;
-
-    // Verificar todas as possíveis orientações do produto
-    return (
-    // Orientação 1: original
-    (dimProduto.getAltura() <= dimCaixa.getAltura()
-            && dimProduto.getLargura() <= dimCaixa.getLargura()
-            && dimProduto.getComprimento() <= dimCaixa.getComprimento())
-        ||
-        // Orientação 2: rotação em X
-        (dimProduto.getAltura() <= dimCaixa.getAltura()
-            && dimProduto.getLargura() <= dimCaixa.getComprimento()
-            && dimProduto.getComprimento() <= dimCaixa.getLargura())
-        ||
-        // Orientação 3: rotação em Y
-        (dimProduto.getAltura() <= dimCaixa.getLargura()
-            && dimProduto.getLargura() <= dimCaixa.getAltura()
-            && dimProduto.getComprimento() <= dimCaixa.getComprimento())
-        ||
-        // Orientação 4: rotação em Y e X
-        (dimProduto.getAltura() <= dimCaixa.getLargura()
-            && dimProduto.getLargura() <= dimCaixa.getComprimento()
-            && dimProduto.getComprimento() <= dimCaixa.getAltura())
-        ||
-        // Orientação 5: rotação em Z
-        (dimProduto.getAltura() <= dimCaixa.getComprimento()
-            && dimProduto.getLargura() <= dimCaixa.getAltura()
-            && dimProduto.getComprimento() <= dimCaixa.getLargura())
-        ||
-        // Orientação 6: rotação em Z e X
-        (dimProduto.getAltura() <= dimCaixa.getComprimento()
-            && dimProduto.getLargura() <= dimCaixa.getLargura()
-            && dimProduto.getComprimento() <= dimCaixa.getAltura()));
+    return dimProduto.getMaior() <= dimensoes.getMaior()
+        && dimProduto.getMedio() <= dimensoes.getMedio()
+        && dimProduto.getMenor() <= dimensoes.getMenor();
   }
 
   public void adicionarProduto(Produto produto) {
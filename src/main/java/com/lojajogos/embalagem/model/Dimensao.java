@@ -1,18 +1,50 @@
 package com.lojajogos.embalagem.model;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+// Medidas de um produto ou caixa. Imutável: o volume, em long para que medidas em milímetros de
+// itens grandes não estourem int, e as medidas ordenadas (maior, média, menor) usadas nas
+// comparações de encaixe e na ordenação são calculados uma vez, na construção.
+@Value
 public class Dimensao {
-  private int altura;
-  private int largura;
-  private int comprimento;
+  // Retorno de menorExtensao quando nenhuma rotação cabe na seção transversal.
+  public static final int SEM_ENCAIXE = -1;
 
-  public int getVolume() {
-    return altura * largura * comprimento;
+  int altura;
+  int largura;
+  int comprimento;
+  int maior;
+  int medio;
+  int menor;
+  long volume;
+
+  public Dimensao(int altura, int largura, int comprimento) {
+    this.altura = altura;
+    this.largura = largura;
+    this.comprimento = comprimento;
+    this.maior = Math.max(altura, Math.max(largura, comprimento));
+    this.menor = Math.min(altura, Math.min(largura, comprimento));
+    // mediana sem somar as medidas, que também poderia estourar
+    this.medio =
+        Math.max(Math.min(altura, largura), Math.min(Math.max(altura, largura), comprimento));
+    this.volume = (long) altura * largura * comprimento;
+  }
+
+  // Menor extensão do produto no eixo empilhado entre as rotações cujas outras duas faces cabem na
+  // seção transversal. Rotações repetidas (faces quadradas e cubos) são avaliadas uma única vez.
+  public static int menorExtensao(
+      int menor, int medio, int maior, int transversal1, int transversal2) {
+    int transversalMenor = Math.min(transversal1, transversal2);
+    int transversalMaior = Math.max(transversal1, transversal2);
+    if (medio <= transversalMenor && maior <= transversalMaior) {
+      return menor;
+    }
+    if (medio != menor && menor <= transversalMenor && maior <= transversalMaior) {
+      return medio;
+    }
+    if (maior != medio && menor <= transversalMenor && medio <= transversalMaior) {
+      return maior;
+    }
+    return SEM_ENCAIXE;
   }
 }
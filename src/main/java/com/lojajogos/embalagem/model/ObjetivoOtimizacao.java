@@ -0,0 +1,31 @@
+package com.lojajogos.embalagem.model;
+
+import java.math.RoundingMode;
+
+// Grandeza minimizada pela estratégia otimizada, somada sobre as caixas do pedido. Os custos são
+// inteiros para que a busca compare e some sem arredondamentos.
+public enum ObjetivoOtimizacao {
+  // número de caixas
+  QUANTIDADE {
+    @Override
+    public long custo(TipoCaixa tipo) {
+      return 1;
+    }
+  },
+  // volume total das caixas
+  VOLUME {
+    @Override
+    public long custo(TipoCaixa tipo) {
+      return tipo.getVolume();
+    }
+  },
+  // custo do catálogo, em décimos de milésimo
+  CUSTO {
+    @Override
+    public long custo(TipoCaixa tipo) {
+      return tipo.getCusto().movePointRight(4).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+  };
+
+  public abstract long custo(TipoCaixa tipo);
+}
@@ -0,0 +1,15 @@
+package com.lojajogos.embalagem.model;
+
+import lombok.Value;
+
+// Canto de um produto dentro da caixa e suas medidas na orientação em que foi colocado. Coordenadas
+// a partir de um canto da caixa: x ao longo do comprimento, y da largura e z da altura.
+@Value
+public class Posicao {
+  int x;
+  int y;
+  int z;
+  int comprimento;
+  int largura;
+  int altura;
+}
@@ -0,0 +1,8 @@
+package com.lojajogos.embalagem.model;
+
+public enum StatusJob {
+  PENDENTE,
+  EXECUTANDO,
+  CONCLUIDO,
+  FALHOU
+}
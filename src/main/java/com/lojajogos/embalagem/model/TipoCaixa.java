@@ -0,0 +1,72 @@
+package com.lojajogos.embalagem.model;
+
+import java.math.BigDecimal;
+import lombok.Value;
+
+// Tipo de caixa do catálogo. As medidas ordenadas e o volume usados nas comparações de encaixe vêm
+// já calculados da Dimensao, que é imutável.
+@Value
+public class TipoCaixa {
+  String id;
+  Dimensao dimensoes;
+  BigDecimal custo;
+
+  public TipoCaixa(String id, Dimensao dimensoes, BigDecimal custo) {
+    this.id = id;
+    this.dimensoes = dimensoes;
+    this.custo = custo != null ? custo : BigDecimal.ZERO;
+  }
+
+  public int getMaior() {
+    return dimensoes.getMaior();
+  }
+
+  public int getMedio() {
+    return dimensoes.getMedio();
+  }
+
+  public int getMenor() {
+    return dimensoes.getMenor();
+  }
+
+  public long getVolume() {
+    return dimensoes.getVolume();
+  }
+
+  // Um produto cabe sozinho em alguma orientação sse suas medidas ordenadas não excedem as da
+  // caixa.
+  public boolean comporta(Dimensao dim) {
+    return dim.getMaior() <= getMaior()
+        && dim.getMedio() <= getMedio()
+        && dim.getMenor() <= getMenor();
+  }
+
+  // Tudo que cabe em "outro" também cabe nesta caixa (girada, se preciso).
+  public boolean domina(TipoCaixa outro) {
+    return comporta(outro.dimensoes);
+  }
+
+  // Quantas unidades do produto cabem empilhadas em linha no melhor eixo da caixa, cada uma na
+  // orientação de menor extensão nesse eixo; zero se ele não cabe sozinho.
+  public int maximoEmpilhado(Dimensao dim) {
+    return Math.max(
+        quantosNoEixo(dim, getMaior(), getMedio(), getMenor()),
+        Math.max(
+            quantosNoEixo(dim, getMedio(), getMaior(), getMenor()),
+            quantosNoEixo(dim, getMenor(), getMaior(), getMedio())));
+  }
+
+  private static int quantosNoEixo(Dimensao dim, int limite, int transversal1, int transversal2) {
+    int extensao =
+        Dimensao.menorExtensao(
+            dim.getMenor(), dim.getMedio(), dim.getMaior(), transversal1, transversal2);
+    if (extensao == Dimensao.SEM_ENCAIXE) {
+      return 0;
+    }
+    return extensao == 0 ? Integer.MAX_VALUE : limite / extensao;
+  }
+
+  public Caixa novaCaixa() {
+    return new Caixa(id, dimensoes);
+  }
+}
@@ -0,0 +1,23 @@
+package com.lojajogos.embalagem.model;
+
+import java.util.Locale;
+
+public enum TipoEstrategia {
+  EXAUSTIVA,
+  FIRST_FIT_DECREASING,
+  BEST_FIT_DECREASING,
+  PONTOS_EXTREMOS,
+  OTIMIZADA;
+
+  // Aceita o nome em qualquer caixa e com hífens no lugar de sublinhados (ex.:
+  // "best-fit-decreasing").
+  public static TipoEstrategia de(String valor) {
+    String normalizado = valor.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    for (TipoEstrategia tipo : values()) {
+      if (tipo.name().equals(normalizado)) {
+        return tipo;
+      }
+    }
+    throw new IllegalArgumentException("Estratégia de empacotamento desconhecida: " + valor);
+  }
+}
@@ -0,0 +1,21 @@
+package com.lojajogos.embalagem.service;
+
+// Publicado sempre que um novo catálogo de caixas entra em vigor.
+public class CatalogoAlteradoEvent {
+
+  private final CatalogoCaixas anterior;
+  private final CatalogoCaixas atual;
+
+  public CatalogoAlteradoEvent(CatalogoCaixas anterior, CatalogoCaixas atual) {
+    this.anterior = anterior;
+    this.atual = atual;
+  }
+
+  public CatalogoCaixas getAnterior() {
+    return anterior;
+  }
+
+  public CatalogoCaixas getAtual() {
+    return atual;
+  }
+}
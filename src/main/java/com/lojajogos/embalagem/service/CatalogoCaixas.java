@@ -0,0 +1,125 @@
+package com.lojajogos.embalagem.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Versão imutável do catálogo de caixas, validada e indexada na construção. Os tipos ficam em ordem
+// de busca (menor volume, depois menor custo). A compatibilidade de cada medida de produto com os
+// tipos é calculada na primeira consulta e guardada numa tabela limitada desta versão, descartada
+// junto com ela quando o catálogo é trocado.
+public final class CatalogoCaixas {
+
+  private final long versao;
+  private final List<TipoCaixa> tipos;
+  // por medidas ordenadas (maior, média, menor); null quando desativada
+  private final Cache<Dimensao, Compatibilidade> compatibilidades;
+  // contagens anteriores a limparCompatibilidades, descontadas das estatísticas publicadas
+  private volatile CacheStats descontadas = CacheStats.empty();
+
+  public CatalogoCaixas(long versao, List<TipoCaixa> tipos) {
+    this(versao, tipos, 0);
+  }
+
+  // "maxCompatibilidades" limita as medidas guardadas na tabela; zero calcula a cada consulta.
+  public CatalogoCaixas(long versao, List<TipoCaixa> tipos, long maxCompatibilidades) {
+    validar(tipos);
+    List<TipoCaixa> ordenados = new ArrayList<>(tipos);
+    ordenados.sort(
+        Comparator.comparingLong(TipoCaixa::getVolume)
+            .thenComparing(TipoCaixa::getCusto)
+            .thenComparing(TipoCaixa::getId));
+    this.versao = versao;
+    this.tipos = List.copyOf(ordenados);
+    this.compatibilidades =
+        maxCompatibilidades > 0
+            ? Caffeine.newBuilder().maximumSize(maxCompatibilidades).recordStats().build()
+            : null;
+  }
+
+  private static void validar(List<TipoCaixa> tipos) {
+    if (tipos == null || tipos.isEmpty()) {
+      throw new IllegalArgumentException("O catálogo de caixas não pode ser vazio");
+    }
+    Set<String> ids = new HashSet<>();
+    for (TipoCaixa tipo : tipos) {
+      if (tipo.getId() == null || tipo.getId().isBlank()) {
+        throw new IllegalArgumentException("Tipo de caixa sem id no catálogo");
+      }
+      if (!ids.add(tipo.getId())) {
+        throw new IllegalArgumentException("Tipo de caixa repetido no catálogo: " + tipo.getId());
+      }
+      if (tipo.getMenor() <= 0) {
+        throw new IllegalArgumentException(
+            "Dimensões da caixa " + tipo.getId() + " devem ser positivas");
+      }
+      if (tipo.getCusto().signum() < 0) {
+        throw new IllegalArgumentException("Custo da caixa " + tipo.getId() + " é negativo");
+      }
+    }
+  }
+
+  public long getVersao() {
+    return versao;
+  }
+
+  public List<TipoCaixa> getTipos() {
+    return tipos;
+  }
+
+  public int tamanho() {
+    return tipos.size();
+  }
+
+  public TipoCaixa tipo(int indice) {
+    return tipos.get(indice);
+  }
+
+  public Compatibilidade compatibilidade(Dimensao dim) {
+    if (compatibilidades == null) {
+      return new Compatibilidade(tipos, dim);
+    }
+    // produtos girados compartilham a entrada
+    Dimensao chave =
+        dim.getAltura() == dim.getMaior() && dim.getComprimento() == dim.getMenor()
+            ? dim
+            : new Dimensao(dim.getMaior(), dim.getMedio(), dim.getMenor());
+    return compatibilidades.get(chave, medidas -> new Compatibilidade(tipos, medidas));
+  }
+
+  // Descarta as medidas guardadas, como as de pedidos sintéticos do aquecimento, e as contagens de
+  // acertos e falhas até aqui.
+  public void limparCompatibilidades() {
+    if (compatibilidades != null) {
+      compatibilidades.invalidateAll();
+      descontadas = compatibilidades.stats();
+    }
+  }
+
+  public boolean comportaEmAlgum(Dimensao dim) {
+    return compatibilidade(dim).comportaEmAlgum();
+  }
+
+  // Tipo de maior volume em que o produto cabe sozinho, ou null se não houver.
+  public TipoCaixa maiorQueComporta(Dimensao dim) {
+    int maior = compatibilidade(dim).getMaior();
+    return maior < 0 ? null : tipos.get(maior);
+  }
+
+  public CacheStats estatisticasCompatibilidade() {
+    return compatibilidades == null
+        ? CacheStats.empty()
+        : compatibilidades.stats().minus(descontadas);
+  }
+
+  public long tamanhoCompatibilidades() {
+    return compatibilidades == null ? 0 : compatibilidades.estimatedSize();
+  }
+}
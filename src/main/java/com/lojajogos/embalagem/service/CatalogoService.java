@@ -0,0 +1,15 @@
+package com.lojajogos.embalagem.service;
+
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.List;
+
+public interface CatalogoService {
+
+  // Catálogo em vigor; leitura sem bloqueio, pode ser chamada a cada pedido.
+  CatalogoCaixas atual();
+
+  CatalogoCaixas substituir(List<TipoCaixa> tipos);
+
+  // Relê o catálogo da configuração (ou do arquivo configurado) e o coloca em vigor.
+  CatalogoCaixas recarregar();
+}
@@ -0,0 +1,60 @@
+package com.lojajogos.embalagem.service;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.BitSet;
+import java.util.List;
+
+// Em quais tipos do catálogo um produto de certas medidas cabe sozinho e quantas unidades dele
+// cabem empilhadas em linha em cada um. Os tipos são referidos pela posição em
+// CatalogoCaixas.getTipos(), e a consulta é montada uma vez por medida e versão do catálogo;
+// depois disso é só leitura, compartilhada entre requisições.
+public final class Compatibilidade {
+
+  private final BitSet tipos;
+  private final int[] maximos;
+  private final int primeiro;
+  private final int maior;
+
+  Compatibilidade(List<TipoCaixa> catalogo, Dimensao dim) {
+    this.tipos = new BitSet(catalogo.size());
+    this.maximos = new int[catalogo.size()];
+    int maiorVolume = -1;
+    for (int t = 0; t < catalogo.size(); t++) {
+      TipoCaixa tipo = catalogo.get(t);
+      if (tipo.comporta(dim)) {
+        tipos.set(t);
+        maximos[t] = tipo.maximoEmpilhado(dim);
+        // no empate de volume fica o primeiro na ordem de busca, como em maiorQueComporta
+        if (maiorVolume < 0 || tipo.getVolume() > catalogo.get(maiorVolume).getVolume()) {
+          maiorVolume = t;
+        }
+      }
+    }
+    this.primeiro = tipos.nextSetBit(0);
+    this.maior = maiorVolume;
+  }
+
+  public boolean comporta(int tipo) {
+    return tipos.get(tipo);
+  }
+
+  public boolean comportaEmAlgum() {
+    return primeiro >= 0;
+  }
+
+  // Primeiro tipo, na ordem de busca, que comporta o produto; -1 se nenhum.
+  public int getPrimeiro() {
+    return primeiro;
+  }
+
+  // Tipo de maior volume que comporta o produto; -1 se nenhum.
+  public int getMaior() {
+    return maior;
+  }
+
+  // Unidades que cabem empilhadas no tipo; zero se ele não comporta o produto.
+  public int maximoEmpilhado(int tipo) {
+    return maximos[tipo];
+  }
+}
@@ -0,0 +1,70 @@
+package com.lojajogos.embalagem.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Orçamento de tempo e contagem de nós de uma busca por pedido, compartilhados pelas threads que
+// trabalham no mesmo pedido. As buscas registram nós em lotes, e o relógio só é consultado quando
+// a contagem cruza um múltiplo de INTERVALO_VERIFICACAO, para não pesar no laço da busca.
+public class ContextoBusca {
+
+  public static final int INTERVALO_VERIFICACAO = 1024;
+
+  private final long inicio;
+  private final long prazo;
+  private final boolean comPrazo;
+  private final AtomicLong nosExplorados = new AtomicLong();
+  private final AtomicLong orientacoesTestadas = new AtomicLong();
+  private volatile boolean esgotado;
+
+  private ContextoBusca(Duration tempoLimite) {
+    this.inicio = System.nanoTime();
+    this.comPrazo = tempoLimite != null && !tempoLimite.isZero() && !tempoLimite.isNegative();
+    this.prazo = comPrazo ? inicio + tempoLimite.toNanos() : 0;
+  }
+
+  public static ContextoBusca comPrazo(Duration tempoLimite) {
+    return new ContextoBusca(tempoLimite);
+  }
+
+  public static ContextoBusca semPrazo() {
+    return new ContextoBusca(null);
+  }
+
+  public boolean registrarNo() {
+    return registrarNos(1);
+  }
+
+  // Registra nós explorados; retorna false quando o prazo já se esgotou.
+  public boolean registrarNos(long quantidade) {
+    long total = nosExplorados.addAndGet(quantidade);
+    if (comPrazo
+        && !esgotado
+        && total / INTERVALO_VERIFICACAO != (total - quantidade) / INTERVALO_VERIFICACAO) {
+      esgotado = System.nanoTime() - prazo >= 0;
+    }
+    return !esgotado;
+  }
+
+  // Orientações de produto testadas pelas estratégias que as enumeram, registradas no fim de cada
+  // caixa ou pedido, e não a cada teste.
+  public void registrarOrientacoes(long quantidade) {
+    orientacoesTestadas.addAndGet(quantidade);
+  }
+
+  public boolean isEsgotado() {
+    return esgotado;
+  }
+
+  public long getNosExplorados() {
+    return nosExplorados.get();
+  }
+
+  public long getOrientacoesTestadas() {
+    return orientacoesTestadas.get();
+  }
+
+  public long getDecorridoMillis() {
+    return Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+  }
+}
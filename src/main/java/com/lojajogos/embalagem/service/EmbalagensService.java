@@ -2,8 +2,17 @@ package com.lojajogos.embalagem.service;
 
 import com.lojajogos.embalagem.dto.request.PedidoDTO;
 import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EmbalagensService {
   ResponseDTO processarPedidos(List<PedidoDTO> pedidosDTO);
+
+  ResponseDTO processarPedidos(List<PedidoDTO> pedidosDTO, TipoEstrategia estrategia);
+
+  void processarFluxo(InputStream entrada, OutputStream saida, TipoEstrategia estrategia)
+      throws IOException;
 }
@@ -2,7 +2,10 @@ package com.lojajogos.embalagem.service;
 
 import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
 import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.TipoEstrategia;
 
 public interface EmpacotamentoService {
   PedidoResponseDTO processar(Pedido pedido);
+
+  PedidoResponseDTO processar(Pedido pedido, TipoEstrategia estrategia);
 }
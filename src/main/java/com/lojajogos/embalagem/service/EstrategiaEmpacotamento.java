@@ -0,0 +1,10 @@
+package com.lojajogos.embalagem.service;
+
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+
+public interface EstrategiaEmpacotamento {
+  TipoEstrategia getTipo();
+
+  ResultadoEmpacotamento empacotar(Pedido pedido, ContextoBusca contexto);
+}
@@ -0,0 +1,18 @@
+package com.lojajogos.embalagem.service;
+
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.JobDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobsEmbalagemService {
+  // Lança RejectedExecutionException quando a fila de jobs está cheia.
+  JobDTO submeter(List<PedidoDTO> pedidosDTO, TipoEstrategia estrategia);
+
+  Optional<JobDTO> consultar(String id);
+
+  // Vazio quando o job não existe, expirou ou ainda não terminou com sucesso.
+  Optional<ResponseDTO> resultado(String id);
+}
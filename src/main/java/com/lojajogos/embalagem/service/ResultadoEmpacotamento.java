@@ -0,0 +1,26 @@
+package com.lojajogos.embalagem.service;
+
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Produto;
+import java.util.Collections;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Caixas montadas por uma estratégia. Quando a busca é interrompida pelo prazo, naoAlocados traz os
+// produtos que ainda não foram colocados em nenhuma caixa.
+@Data
+@AllArgsConstructor
+public class ResultadoEmpacotamento {
+  private List<Caixa> caixas;
+  private List<Produto> naoAlocados;
+  private boolean otimo;
+
+  public static ResultadoEmpacotamento completo(List<Caixa> caixas, boolean otimo) {
+    return new ResultadoEmpacotamento(caixas, Collections.emptyList(), otimo);
+  }
+
+  public static ResultadoEmpacotamento parcial(List<Caixa> caixas, List<Produto> naoAlocados) {
+    return new ResultadoEmpacotamento(caixas, naoAlocados, false);
+  }
+}
@@ -0,0 +1,146 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.request.DimensaoDTO;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.request.ProdutoDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.EmbalagensService;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Empacota pedidos sintéticos na inicialização, para que as primeiras requisições de um pod novo
+// não paguem a interpretação e a compilação do empacotamento e do Jackson. O Spring só declara a
+// aplicação pronta (ReadinessState.ACCEPTING_TRAFFIC) depois dos ApplicationRunner, então
+// /actuator/health/readiness responde 503 até o aquecimento terminar. Os pedidos sintéticos ficam
+// fora das métricas, dos contadores de poda e das estatísticas dos caches.
+@Component
+public class AquecimentoEmpacotamento implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(AquecimentoEmpacotamento.class);
+
+  static final int PEDIDOS_POR_LOTE = 100;
+  static final int MAX_PRODUTOS = 15;
+
+  private final EmbalagensService embalagensService;
+  private final CatalogoService catalogoService;
+  private final CachePedidos cachePedidos;
+  private final CacheEncaixe cacheEncaixe;
+  private final MetricasEmpacotamento metricas;
+  private final ContadoresPoda contadoresPoda;
+  private final EmbalagemProperties properties;
+  private final ObjectMapper objectMapper;
+
+  public AquecimentoEmpacotamento(
+      EmbalagensService embalagensService,
+      CatalogoService catalogoService,
+      CachePedidos cachePedidos,
+      CacheEncaixe cacheEncaixe,
+      MetricasEmpacotamento metricas,
+      EstrategiaExaustiva estrategiaExaustiva,
+      EmbalagemProperties properties,
+      ObjectMapper objectMapper) {
+    this.embalagensService = embalagensService;
+    this.catalogoService = catalogoService;
+    this.cachePedidos = cachePedidos;
+    this.cacheEncaixe = cacheEncaixe;
+    this.metricas = metricas;
+    this.contadoresPoda = estrategiaExaustiva.getContadoresPoda();
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    aquecer();
+  }
+
+  // Devolve quantos pedidos sintéticos foram processados.
+  int aquecer() throws IOException {
+    EmbalagemProperties.Aquecimento aquecimento = properties.getAquecimento();
+    if (!aquecimento.isHabilitado() || aquecimento.getPedidos() <= 0) {
+      return 0;
+    }
+    long inicio = System.nanoTime();
+    long prazo = inicio + aquecimento.getTempoMaximo().toNanos();
+    CatalogoCaixas catalogo = catalogoService.atual();
+    Random random = new Random(1);
+    int processados = 0;
+    metricas.suspender();
+    try {
+      for (int lote = 0;
+          processados < aquecimento.getPedidos() && System.nanoTime() - prazo < 0;
+          lote++) {
+        int tamanho = Math.min(PEDIDOS_POR_LOTE, aquecimento.getPedidos() - processados);
+        List<PedidoDTO> pedidos = new ArrayList<>(tamanho);
+        for (int i = 1; i <= tamanho; i++) {
+          pedidos.add(pedidoSintetico(processados + i, catalogo.getTipos(), random));
+        }
+        // um lote em cada quatro passa pela estratégia de reserva, que completa os pedidos cujo
+        // prazo se esgota
+        TipoEstrategia estrategia =
+            lote % 4 == 3 ? properties.getEstrategiaReserva() : properties.getEstrategiaPadrao();
+        // ida e volta pelo JSON, como o corpo e a resposta de POST /api/v1/embalagens
+        Map<String, List<PedidoDTO>> corpo =
+            objectMapper.readValue(
+                objectMapper.writeValueAsBytes(Map.of("pedidos", pedidos)),
+                new TypeReference<Map<String, List<PedidoDTO>>>() {});
+        ResponseDTO resposta = embalagensService.processarPedidos(corpo.get("pedidos"), estrategia);
+        objectMapper.writeValueAsBytes(resposta);
+        processados += tamanho;
+      }
+    } finally {
+      metricas.retomar();
+    }
+    // os resultados sintéticos não se repetem em pedidos reais, e as contagens que eles deixaram
+    // não descrevem o tráfego
+    cachePedidos.limpar();
+    cachePedidos.zerarEstatisticas();
+    cacheEncaixe.limpar();
+    cacheEncaixe.zerarEstatisticas();
+    catalogo.limparCompatibilidades();
+    contadoresPoda.zerar();
+    log.info(
+        "Aquecimento concluído: {} pedido(s) sintético(s) em {} ms",
+        processados,
+        (System.nanoTime() - inicio) / 1_000_000);
+    return processados;
+  }
+
+  // Até MAX_PRODUTOS produtos, cada um com até metade de cada medida de um tipo do catálogo, de
+  // modo que todos caibam em alguma caixa e a busca percorra grupos de vários tamanhos.
+  private static PedidoDTO pedidoSintetico(int id, List<TipoCaixa> tipos, Random random) {
+    int quantidade = 1 + random.nextInt(MAX_PRODUTOS);
+    List<ProdutoDTO> produtos = new ArrayList<>(quantidade);
+    for (int i = 0; i < quantidade; i++) {
+      Dimensao caixa = tipos.get(random.nextInt(tipos.size())).getDimensoes();
+      produtos.add(
+          new ProdutoDTO(
+              "Aquecimento " + i,
+              new DimensaoDTO(
+                  metade(caixa.getAltura(), random),
+                  metade(caixa.getLargura(), random),
+                  metade(caixa.getComprimento(), random))));
+    }
+    return new PedidoDTO(id, produtos);
+  }
+
+  private static int metade(int medida, Random random) {
+    return 1 + random.nextInt(Math.max(1, medida / 2));
+  }
+}
@@ -0,0 +1,68 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoAlteradoEvent;
+import java.util.Arrays;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Memoriza, entre requisições, o maior grupo que a busca exaustiva encontrou para um tipo de caixa
+// e uma lista de produtos restantes. A chave guarda apenas as medidas ordenadas de cada produto,
+// na ordem canônica de Encaixe.ordenarPorVolume, então pedidos diferentes com as mesmas medidas
+// compartilham a entrada. O valor são as posições do grupo nessa lista (vazio quando nada cabe).
+@Component
+public class CacheEncaixe {
+
+  private static final int[] SEM_GRUPO = new int[0];
+
+  private final Cache<ChaveMedidas, int[]> grupos;
+  // contagens anteriores a zerarEstatisticas, descontadas das estatísticas publicadas
+  private volatile CacheStats descontadas = CacheStats.empty();
+
+  public CacheEncaixe(EmbalagemProperties properties) {
+    this.grupos = Caches.construir(properties.getCacheEncaixe());
+  }
+
+  ChaveMedidas chave(TipoCaixa caixa, ProdutosCompactados produtos, int[] ativos, int quantidade) {
+    if (grupos == null) {
+      return null;
+    }
+    return ChaveMedidas.de(caixa.getId(), caixa, produtos, ativos, quantidade);
+  }
+
+  // Posições do grupo memorizado, ou null quando a chave ainda não foi calculada.
+  int[] buscar(ChaveMedidas chave) {
+    return chave == null ? null : grupos.getIfPresent(chave);
+  }
+
+  void registrar(ChaveMedidas chave, int[] indices, int k) {
+    if (chave != null) {
+      grupos.put(chave, k == 0 ? SEM_GRUPO : Arrays.copyOf(indices, k));
+    }
+  }
+
+  @EventListener(CatalogoAlteradoEvent.class)
+  public void limpar() {
+    if (grupos != null) {
+      grupos.invalidateAll();
+    }
+  }
+
+  // O Caffeine não zera as próprias estatísticas; as atuais passam a ser descontadas.
+  void zerarEstatisticas() {
+    if (grupos != null) {
+      descontadas = grupos.stats();
+    }
+  }
+
+  public CacheStats estatisticas() {
+    return grupos == null ? CacheStats.empty() : grupos.stats().minus(descontadas);
+  }
+
+  public long tamanho() {
+    return grupos == null ? 0 : grupos.estimatedSize();
+  }
+}
@@ -0,0 +1,128 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoAlteradoEvent;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Resultado completo de um pedido, por estratégia e multiconjunto de medidas dos produtos. As
+// caixas são guardadas como posições na ordem canônica de Encaixe.ordenarPorVolume, de modo que um
+// pedido repetido (mesmas medidas, outros ids) seja remontado sem refazer o empacotamento.
+@Component
+public class CachePedidos {
+
+  private final Cache<ChaveMedidas, Plano> planos;
+
+  // Faz parte da chave: um plano calculado com um catálogo anterior nunca é reaproveitado, mesmo
+  // que termine de ser calculado depois da troca.
+  private volatile long versaoCatalogo;
+  // contagens anteriores a zerarEstatisticas, descontadas das estatísticas publicadas
+  private volatile CacheStats descontadas = CacheStats.empty();
+
+  public CachePedidos(EmbalagemProperties properties) {
+    this.planos = Caches.construir(properties.getCachePedidos());
+  }
+
+  ChaveMedidas chave(TipoEstrategia tipo, List<Produto> ordenados) {
+    if (planos == null) {
+      return null;
+    }
+    return ChaveMedidas.de(tipo.name() + '@' + versaoCatalogo, ordenados);
+  }
+
+  // Caixas remontadas com os produtos do pedido atual, ou null quando não há plano memorizado.
+  ResultadoEmpacotamento buscar(ChaveMedidas chave, List<Produto> ordenados) {
+    Plano plano = chave == null ? null : planos.getIfPresent(chave);
+    if (plano == null) {
+      return null;
+    }
+    List<Caixa> caixas = new ArrayList<>(plano.modelos.length);
+    for (int i = 0; i < plano.modelos.length; i++) {
+      Caixa caixa = new Caixa(plano.modelos[i].getId(), plano.modelos[i].getDimensoes());
+      for (int posicao : plano.posicoes[i]) {
+        caixa.adicionarProduto(ordenados.get(posicao));
+      }
+      // as posições dependem só das medidas, que são as mesmas do pedido memorizado
+      caixa.setPosicoes(plano.modelos[i].getPosicoes());
+      caixas.add(caixa);
+    }
+    return ResultadoEmpacotamento.completo(caixas, plano.otimo);
+  }
+
+  void registrar(ChaveMedidas chave, List<Produto> ordenados, ResultadoEmpacotamento resultado) {
+    if (chave == null) {
+      return;
+    }
+    // identidade, e não equals, porque o mesmo produto pode aparecer repetido no pedido
+    Map<Produto, Integer> posicaoDe = new IdentityHashMap<>();
+    for (int i = 0; i < ordenados.size(); i++) {
+      posicaoDe.put(ordenados.get(i), i);
+    }
+    List<Caixa> caixas = resultado.getCaixas();
+    Caixa[] modelos = new Caixa[caixas.size()];
+    int[][] posicoes = new int[caixas.size()][];
+    for (int i = 0; i < caixas.size(); i++) {
+      Caixa caixa = caixas.get(i);
+      modelos[i] = new Caixa(caixa.getId(), caixa.getDimensoes());
+      modelos[i].setPosicoes(caixa.getPosicoes());
+      posicoes[i] = new int[caixa.getProdutos().size()];
+      for (int j = 0; j < posicoes[i].length; j++) {
+        Integer posicao = posicaoDe.get(caixa.getProdutos().get(j));
+        if (posicao == null) {
+          return;
+        }
+        posicoes[i][j] = posicao;
+      }
+    }
+    planos.put(chave, new Plano(modelos, posicoes, resultado.isOtimo()));
+  }
+
+  @EventListener
+  public void aoAlterarCatalogo(CatalogoAlteradoEvent evento) {
+    versaoCatalogo = evento.getAtual().getVersao();
+    limpar();
+  }
+
+  public void limpar() {
+    if (planos != null) {
+      planos.invalidateAll();
+    }
+  }
+
+  // O Caffeine não zera as próprias estatísticas; as atuais passam a ser descontadas.
+  void zerarEstatisticas() {
+    if (planos != null) {
+      descontadas = planos.stats();
+    }
+  }
+
+  public CacheStats estatisticas() {
+    return planos == null ? CacheStats.empty() : planos.stats().minus(descontadas);
+  }
+
+  public long tamanho() {
+    return planos == null ? 0 : planos.estimatedSize();
+  }
+
+  private static final class Plano {
+    private final Caixa[] modelos;
+    private final int[][] posicoes;
+    private final boolean otimo;
+
+    private Plano(Caixa[] modelos, int[][] posicoes, boolean otimo) {
+      this.modelos = modelos;
+      this.posicoes = posicoes;
+      this.otimo = otimo;
+    }
+  }
+}
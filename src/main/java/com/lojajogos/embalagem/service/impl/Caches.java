@@ -0,0 +1,23 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+
+final class Caches {
+
+  private Caches() {}
+
+  // Cache limitado com estatísticas, ou null quando max-entradas é zero.
+  static <K, V> Cache<K, V> construir(EmbalagemProperties.Cache configuracao) {
+    if (configuracao.getMaxEntradas() <= 0) {
+      return null;
+    }
+    Caffeine<Object, Object> builder =
+        Caffeine.newBuilder().maximumSize(configuracao.getMaxEntradas()).recordStats();
+    if (configuracao.getTtl() != null && !configuracao.getTtl().isZero()) {
+      builder.expireAfterWrite(configuracao.getTtl());
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,97 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoAlteradoEvent;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+// Mantém o catálogo em vigor numa referência atômica: os pedidos leem a versão atual sem bloqueio,
+// e uma troca só fica visível depois de validada e indexada por inteiro.
+@Service
+public class CatalogoServiceImpl implements CatalogoService {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogoServiceImpl.class);
+
+  private final EmbalagemProperties properties;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final AtomicReference<CatalogoCaixas> atual = new AtomicReference<>();
+
+  @Autowired
+  public CatalogoServiceImpl(
+      EmbalagemProperties properties,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    atual.set(new CatalogoCaixas(1, carregar(), properties.getCatalogo().getMaxCompatibilidades()));
+    log.info("Catálogo de caixas carregado com {} tipos", atual.get().tamanho());
+  }
+
+  @Override
+  public CatalogoCaixas atual() {
+    return atual.get();
+  }
+
+  @Override
+  public synchronized CatalogoCaixas substituir(List<TipoCaixa> tipos) {
+    CatalogoCaixas anterior = atual.get();
+    CatalogoCaixas novo =
+        new CatalogoCaixas(
+            anterior.getVersao() + 1, tipos, properties.getCatalogo().getMaxCompatibilidades());
+    atual.set(novo);
+    log.info(
+        "Catálogo de caixas substituído: versão {} com {} tipos", novo.getVersao(), novo.tamanho());
+    eventPublisher.publishEvent(new CatalogoAlteradoEvent(anterior, novo));
+    return novo;
+  }
+
+  @Override
+  public CatalogoCaixas recarregar() {
+    return substituir(carregar());
+  }
+
+  private List<TipoCaixa> carregar() {
+    EmbalagemProperties.Catalogo catalogo = properties.getCatalogo();
+    List<EmbalagemProperties.ItemCatalogo> itens =
+        catalogo.getArquivo() != null && !catalogo.getArquivo().isBlank()
+            ? lerArquivo(Path.of(catalogo.getArquivo()))
+            : catalogo.getCaixas();
+    List<TipoCaixa> tipos = new ArrayList<>(itens.size());
+    for (EmbalagemProperties.ItemCatalogo item : itens) {
+      tipos.add(
+          new TipoCaixa(
+              item.getId(),
+              new Dimensao(item.getAltura(), item.getLargura(), item.getComprimento()),
+              item.getCusto()));
+    }
+    return tipos;
+  }
+
+  private List<EmbalagemProperties.ItemCatalogo> lerArquivo(Path arquivo) {
+    try {
+      return objectMapper.readValue(
+          Files.readAllBytes(arquivo),
+          new TypeReference<List<EmbalagemProperties.ItemCatalogo>>() {});
+    } catch (IOException e) {
+      throw new UncheckedIOException("Não foi possível ler o catálogo de caixas " + arquivo, e);
+    }
+  }
+}
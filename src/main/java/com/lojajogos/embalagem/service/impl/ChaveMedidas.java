@@ -0,0 +1,71 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.Arrays;
+import java.util.List;
+
+// Chave de cache formada por um rótulo e pelas medidas ordenadas (maior, média, menor) de uma
+// sequência de dimensões. Como as medidas são ordenadas, produtos girados geram a mesma chave.
+final class ChaveMedidas {
+
+  private final String rotulo;
+  private final int[] medidas;
+  private final int hash;
+
+  private ChaveMedidas(String rotulo, int[] medidas) {
+    this.rotulo = rotulo;
+    this.medidas = medidas;
+    this.hash = 31 * rotulo.hashCode() + Arrays.hashCode(medidas);
+  }
+
+  // Medidas de cada produto, na ordem da lista.
+  static ChaveMedidas de(String rotulo, List<Produto> produtos) {
+    int[] medidas = new int[3 * produtos.size()];
+    for (int i = 0; i < produtos.size(); i++) {
+      ordenarMedidas(produtos.get(i).getDimensoes(), medidas, 3 * i);
+    }
+    return new ChaveMedidas(rotulo, medidas);
+  }
+
+  // Medidas da caixa seguidas das dos produtos ativos, na ordem de "ativos".
+  static ChaveMedidas de(
+      String rotulo, TipoCaixa caixa, ProdutosCompactados produtos, int[] ativos, int quantidade) {
+    int[] medidas = new int[3 * (quantidade + 1)];
+    medidas[0] = caixa.getMaior();
+    medidas[1] = caixa.getMedio();
+    medidas[2] = caixa.getMenor();
+    for (int i = 0; i < quantidade; i++) {
+      medidas[3 * (i + 1)] = produtos.maior(ativos[i]);
+      medidas[3 * (i + 1) + 1] = produtos.medio(ativos[i]);
+      medidas[3 * (i + 1) + 2] = produtos.menor(ativos[i]);
+    }
+    return new ChaveMedidas(rotulo, medidas);
+  }
+
+  private static void ordenarMedidas(Dimensao dim, int[] destino, int posicao) {
+    destino[posicao] = dim.getMaior();
+    destino[posicao + 1] = dim.getMedio();
+    destino[posicao + 2] = dim.getMenor();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ChaveMedidas)) {
+      return false;
+    }
+    ChaveMedidas outra = (ChaveMedidas) o;
+    return hash == outra.hash
+        && rotulo.equals(outra.rotulo)
+        && Arrays.equals(medidas, outra.medidas);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+}
@@ -0,0 +1,93 @@
+package com.lojajogos.embalagem.service.impl;
+
+// Enumera as combinações de k índices em [0, n) em ordem lexicográfica, reaproveitando o mesmo
+// int[] a cada passo para que nenhuma combinação precise ser materializada.
+final class Combinacoes {
+
+  static final long SATURADO = Long.MAX_VALUE;
+
+  private static final int MAXIMO_N = 128;
+  private static final long[][] BINOMIAIS = new long[MAXIMO_N + 1][];
+
+  static {
+    for (int n = 0; n <= MAXIMO_N; n++) {
+      BINOMIAIS[n] = new long[n + 1];
+      BINOMIAIS[n][0] = 1;
+      BINOMIAIS[n][n] = 1;
+      for (int k = 1; k < n; k++) {
+        long soma = BINOMIAIS[n - 1][k - 1] + BINOMIAIS[n - 1][k];
+        BINOMIAIS[n][k] = soma < 0 ? SATURADO : soma;
+      }
+    }
+  }
+
+  private Combinacoes() {}
+
+  static void primeira(int[] indices, int k) {
+    for (int i = 0; i < k; i++) {
+      indices[i] = i;
+    }
+  }
+
+  static boolean proxima(int[] indices, int k, int n) {
+    int i = k - 1;
+    while (i >= 0 && indices[i] == n - k + i) {
+      i--;
+    }
+    if (i < 0) {
+      return false;
+    }
+    indices[i]++;
+    for (int j = i + 1; j < k; j++) {
+      indices[j] = indices[j - 1] + 1;
+    }
+    return true;
+  }
+
+  // C(n, k), saturado em SATURADO quando não cabe num long.
+  static long binomial(int n, int k) {
+    if (k < 0 || k > n) {
+      return 0;
+    }
+    if (n <= MAXIMO_N) {
+      return BINOMIAIS[n][k];
+    }
+    // C(n, j) = C(n, j - 1) * (n - j + 1) / j. Dividir antes pelo mdc com j mantém a conta exata e
+    // o produto é o próprio C(n, j), então o estouro só acontece quando o resultado não cabe.
+    k = Math.min(k, n - k);
+    long resultado = 1;
+    for (int j = 1; j <= k; j++) {
+      long mdc = mdc(resultado, j);
+      try {
+        resultado = Math.multiplyExact(resultado / mdc, (n - j + 1) / (j / mdc));
+      } catch (ArithmeticException e) {
+        return SATURADO;
+      }
+    }
+    return resultado;
+  }
+
+  private static long mdc(long a, long b) {
+    while (b != 0) {
+      long resto = a % b;
+      a = b;
+      b = resto;
+    }
+    return a;
+  }
+
+  // Preenche indices com a combinação de posição "posto" na ordem lexicográfica. Só é válido
+  // quando C(n, k) não está saturado.
+  static void desranquear(int[] indices, int k, int n, long posto) {
+    int candidato = 0;
+    for (int i = 0; i < k; i++) {
+      long combinacoesComCandidato = binomial(n - 1 - candidato, k - 1 - i);
+      while (posto >= combinacoesComCandidato) {
+        posto -= combinacoesComCandidato;
+        candidato++;
+        combinacoesComCandidato = binomial(n - 1 - candidato, k - 1 - i);
+      }
+      indices[i] = candidato++;
+    }
+  }
+}
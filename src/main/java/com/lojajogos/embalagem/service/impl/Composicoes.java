@@ -0,0 +1,157 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.service.ContextoBusca;
+import java.util.Arrays;
+
+// Busca de grupos por quantidade de cada medida, para pedidos com produtos repetidos. Produtos com
+// as mesmas medidas ordenadas são intercambiáveis no empilhamento, então as combinações que só
+// trocam unidades iguais entre si são o mesmo grupo; aqui cada grupo é um vetor com quantas
+// unidades de cada classe de medidas ele leva. Encaixe.ordenarPorVolume deixa as unidades de uma
+// classe em posições seguidas, e o grupo de um vetor usa as primeiras unidades de cada classe.
+// Assim, percorrer os vetores do que leva mais das primeiras classes para o que leva menos
+// encontra o mesmo grupo que a varredura das combinações em ordem lexicográfica.
+final class Composicoes {
+
+  private final EmpilhamentoCompactado empilhamento;
+  private final int classes;
+  // posição da primeira unidade, quantidade de unidades e quantas cabem empilhadas na caixa, por
+  // classe
+  private final int[] inicio;
+  private final int[] quantidade;
+  private final int[] maximo;
+  // unidades da classe c em diante; disponiveis[classes] = 0
+  private final int[] disponiveis;
+  // somas[c]: somas de extensões e volume das classes anteriores a c, como em
+  // EmpilhamentoCompactado.somar
+  private final long[][] somas;
+  private final int[] escolhidas;
+
+  private ContextoBusca contexto;
+  private int nosPendentes;
+  private long testados;
+  private long porVolume;
+  private long porExtensao;
+  private boolean interrompida;
+
+  // "posicoes[0..quantidadeProdutos)" são os produtos de "empilhamento", na ordem de
+  // Encaixe.ordenarPorVolume, e "maximos" quantas unidades de cada um cabem sozinhas na caixa.
+  Composicoes(
+      ProdutosCompactados produtos,
+      int[] posicoes,
+      int[] maximos,
+      int quantidadeProdutos,
+      EmpilhamentoCompactado empilhamento) {
+    this.empilhamento = empilhamento;
+    int[] inicios = new int[quantidadeProdutos];
+    int c = 0;
+    for (int i = 0; i < quantidadeProdutos; i++) {
+      if (i == 0 || !mesmasMedidas(produtos, posicoes[i - 1], posicoes[i])) {
+        inicios[c++] = i;
+      }
+    }
+    this.classes = c;
+    this.inicio = Arrays.copyOf(inicios, c);
+    this.quantidade = new int[c];
+    this.maximo = new int[c];
+    this.disponiveis = new int[c + 1];
+    for (int j = c - 1; j >= 0; j--) {
+      int fim = j + 1 < c ? inicio[j + 1] : quantidadeProdutos;
+      quantidade[j] = fim - inicio[j];
+      maximo[j] = maximos[inicio[j]];
+      disponiveis[j] = disponiveis[j + 1] + quantidade[j];
+    }
+    this.somas = new long[c + 1][4];
+    this.escolhidas = new int[c];
+  }
+
+  private static boolean mesmasMedidas(ProdutosCompactados produtos, int a, int b) {
+    return produtos.maior(a) == produtos.maior(b)
+        && produtos.medio(a) == produtos.medio(b)
+        && produtos.menor(a) == produtos.menor(b);
+  }
+
+  int classes() {
+    return classes;
+  }
+
+  // Vetores de todos os tamanhos: o produto de (unidades + 1) de cada classe, saturado em
+  // Long.MAX_VALUE.
+  long total() {
+    long total = 1;
+    for (int j = 0; j < classes; j++) {
+      if (total > Long.MAX_VALUE / (quantidade[j] + 1)) {
+        return Long.MAX_VALUE;
+      }
+      total *= quantidade[j] + 1;
+    }
+    return total;
+  }
+
+  // Preenche indices[0..k) com o primeiro grupo de k produtos que cabe, na ordem lexicográfica das
+  // posições; devolve false se nenhum cabe ou se o prazo se esgotou antes.
+  boolean primeiroQueCabe(int k, int[] indices, ContextoBusca contexto, ContadoresPoda contadores) {
+    this.contexto = contexto;
+    nosPendentes = 0;
+    testados = 0;
+    porVolume = 0;
+    porExtensao = 0;
+    interrompida = false;
+    boolean encontrado = k <= disponiveis[0] && buscar(0, k);
+    contexto.registrarNos(nosPendentes);
+    contadores.registrarVarredura(testados, porVolume, porExtensao);
+    if (!encontrado) {
+      return false;
+    }
+    int j = 0;
+    for (int c = 0; c < classes; c++) {
+      for (int u = 0; u < escolhidas[c]; u++) {
+        indices[j++] = inicio[c] + u;
+      }
+    }
+    return true;
+  }
+
+  // Quantidades da classe em diante, com "faltam" unidades ainda por escolher. Somas só crescem,
+  // então um prefixo que já não cabe não tem continuação que caiba.
+  private boolean buscar(int classe, int faltam) {
+    // mais unidades do que cabem sozinhas na caixa não cabem com outras
+    int maximoVezes = Math.min(Math.min(quantidade[classe], maximo[classe]), faltam);
+    int minimo = Math.max(0, faltam - disponiveis[classe + 1]);
+    long[] proximo = somas[classe + 1];
+    for (int vezes = maximoVezes; vezes >= minimo; vezes--) {
+      if (!registrarNo()) {
+        return false;
+      }
+      System.arraycopy(somas[classe], 0, proximo, 0, proximo.length);
+      empilhamento.somar(proximo, inicio[classe], vezes);
+      if (!empilhamento.cabeEmVolume(proximo)) {
+        porVolume++;
+        continue;
+      }
+      if (!empilhamento.cabe(proximo)) {
+        porExtensao++;
+        continue;
+      }
+      escolhidas[classe] = vezes;
+      if (vezes == faltam) {
+        Arrays.fill(escolhidas, classe + 1, classes, 0);
+        return true;
+      }
+      if (buscar(classe + 1, faltam - vezes) || interrompida) {
+        return !interrompida;
+      }
+    }
+    return false;
+  }
+
+  private boolean registrarNo() {
+    testados++;
+    if (++nosPendentes == ContextoBusca.INTERVALO_VERIFICACAO) {
+      nosPendentes = 0;
+      if (!contexto.registrarNos(ContextoBusca.INTERVALO_VERIFICACAO)) {
+        interrompida = true;
+      }
+    }
+    return !interrompida;
+  }
+}
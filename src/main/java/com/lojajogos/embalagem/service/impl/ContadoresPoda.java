@@ -0,0 +1,57 @@
+package com.lojajogos.embalagem.service.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Quanto cada filtro barato da busca exaustiva descartou antes do teste de encaixe completo, somado
+// desde a inicialização. As buscas acumulam localmente e publicam aqui uma vez por faixa varrida.
+public final class ContadoresPoda {
+
+  private final LongAdder produtosPorDominancia = new LongAdder();
+  private final LongAdder tamanhosPorLimite = new LongAdder();
+  private final LongAdder gruposPorVolume = new LongAdder();
+  private final LongAdder gruposPorExtensao = new LongAdder();
+  private final LongAdder gruposTestados = new LongAdder();
+
+  void registrarRodada(int produtosDescartados, int tamanhosPulados) {
+    produtosPorDominancia.add(produtosDescartados);
+    tamanhosPorLimite.add(tamanhosPulados);
+  }
+
+  void registrarVarredura(long testados, long porVolume, long porExtensao) {
+    gruposTestados.add(testados);
+    gruposPorVolume.add(porVolume);
+    gruposPorExtensao.add(porExtensao);
+  }
+
+  // Só é exato sem buscas em andamento, como ao fim do aquecimento.
+  void zerar() {
+    produtosPorDominancia.reset();
+    tamanhosPorLimite.reset();
+    gruposPorVolume.reset();
+    gruposPorExtensao.reset();
+    gruposTestados.reset();
+  }
+
+  // Produtos retirados de uma rodada por não caberem sozinhos na caixa (alguma medida ordenada
+  // maior que a da caixa).
+  public long getProdutosPorDominancia() {
+    return produtosPorDominancia.sum();
+  }
+
+  // Tamanhos de grupo nem enumerados porque nem os menores produtos, somados, cabem na caixa.
+  public long getTamanhosPorLimite() {
+    return tamanhosPorLimite.sum();
+  }
+
+  public long getGruposPorVolume() {
+    return gruposPorVolume.sum();
+  }
+
+  public long getGruposPorExtensao() {
+    return gruposPorExtensao.sum();
+  }
+
+  public long getGruposTestados() {
+    return gruposTestados.sum();
+  }
+}
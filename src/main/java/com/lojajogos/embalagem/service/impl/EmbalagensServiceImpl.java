@@ -1,5 +1,9 @@
 package com.lojajogos.embalagem.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
 import com.lojajogos.embalagem.dto.request.PedidoDTO;
 import com.lojajogos.embalagem.dto.request.ProdutoDTO;
 import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
@@ -7,42 +11,183 @@ import com.lojajogos.embalagem.dto.response.ResponseDTO;
 import com.lojajogos.embalagem.model.Dimensao;
 import com.lojajogos.embalagem.model.Pedido;
 import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoEstrategia;
 import com.lojajogos.embalagem.service.EmbalagensService;
 import com.lojajogos.embalagem.service.EmpacotamentoService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmbalagensServiceImpl implements EmbalagensService {
   private static final Logger log = LoggerFactory.getLogger(EmbalagensServiceImpl.class);
   private final EmpacotamentoService empacotamentoService;
+  private final Executor executorPedidos;
+  private final EmbalagemProperties properties;
+  private final ObjectMapper objectMapper;
+  // Empacotamentos em andamento em toda a aplicação, qualquer que seja a thread que os executa.
+  private final Semaphore empacotamentos;
 
   @Autowired
-  public EmbalagensServiceImpl(EmpacotamentoService empacotamentoService) {
+  public EmbalagensServiceImpl(
+      EmpacotamentoService empacotamentoService,
+      @Qualifier("executorPedidos") Executor executorPedidos,
+      EmbalagemProperties properties,
+      ObjectMapper objectMapper) {
     this.empacotamentoService = empacotamentoService;
+    this.executorPedidos = executorPedidos;
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.empacotamentos =
+        new Semaphore(properties.getParalelismo().maxEmpacotamentosEfetivo(), true);
   }
 
   @Override
   public ResponseDTO processarPedidos(List<PedidoDTO> pedidosDTO) {
+    return processarPedidos(pedidosDTO, null);
+  }
+
+  @Override
+  public ResponseDTO processarPedidos(List<PedidoDTO> pedidosDTO, TipoEstrategia estrategia) {
+    return processarPedidos(pedidosDTO, estrategia, () -> {});
+  }
+
+  // "aoConcluirPedido" é chamado uma vez por pedido, na thread que o processou.
+  ResponseDTO processarPedidos(
+      List<PedidoDTO> pedidosDTO, TipoEstrategia estrategia, Runnable aoConcluirPedido) {
+    long inicio = System.nanoTime();
+    List<PedidoDTO> pedidos = pedidosDTO != null ? pedidosDTO : Collections.emptyList();
+    PedidoResponseDTO[] responses = new PedidoResponseDTO[pedidos.size()];
+
+    // Cada trabalhador retira o próximo índice livre e grava a resposta na mesma posição, o que
+    // preserva a ordem de entrada. O número de trabalhadores limita o paralelismo deste lote.
+    AtomicInteger proximo = new AtomicInteger();
+    Runnable trabalhador =
+        () -> {
+          for (int i = proximo.getAndIncrement();
+              i < responses.length;
+              i = proximo.getAndIncrement()) {
+            responses[i] = processarPedidoIsolado(pedidos.get(i), estrategia);
+            aoConcluirPedido.run();
+          }
+        };
+
+    int trabalhadores = Math.min(responses.length, properties.getParalelismo().maxPorLoteEfetivo());
+    List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+    for (int t = 1; t < trabalhadores; t++) {
+      tarefas.add(CompletableFuture.runAsync(trabalhador, executorPedidos));
+    }
+    trabalhador.run();
+    tarefas.forEach(CompletableFuture::join);
+
     log.info(
-        "Iniciando processamento para {} pedido(s)", pedidosDTO != null ? pedidosDTO.size() : 0);
-    List<PedidoResponseDTO> responses =
-        pedidosDTO.stream().map(this::processarPedido).collect(Collectors.toList());
-    log.info("Processamento de pedidos concluído.");
-    return new ResponseDTO(responses);
+        "Lote de {} pedido(s) processado em {} ms",
+        responses.length,
+        (System.nanoTime() - inicio) / 1_000_000);
+    return new ResponseDTO(Arrays.asList(responses));
+  }
+
+  // Lê um PedidoDTO por linha e escreve cada resposta como uma linha JSON assim que fica pronta, na
+  // ordem de conclusão. Um pedido só é lido quando há vaga entre os maxPorLote em andamento, então
+  // a memória ocupada não depende do tamanho do lote. Uma linha inválida encerra a leitura com uma
+  // linha de erro depois das respostas dos pedidos anteriores.
+  @Override
+  public void processarFluxo(InputStream entrada, OutputStream saida, TipoEstrategia estrategia)
+      throws IOException {
+    int vagas = properties.getParalelismo().maxPorLoteEfetivo();
+    Semaphore emAndamento = new Semaphore(vagas);
+    AtomicReference<IOException> falhaEscrita = new AtomicReference<>();
+    long lidos = 0;
+    String erroLeitura = null;
+
+    try (MappingIterator<PedidoDTO> pedidos =
+        objectMapper.readerFor(PedidoDTO.class).readValues(entrada)) {
+      while (falhaEscrita.get() == null && pedidos.hasNextValue()) {
+        PedidoDTO pedido = pedidos.nextValue();
+        lidos++;
+        emAndamento.acquire();
+        executorPedidos.execute(
+            () -> {
+              try {
+                escreverLinha(saida, processarPedidoIsolado(pedido, estrategia));
+              } catch (IOException e) {
+                // cliente desconectou: os pedidos em andamento terminam, mas nada mais é lido
+                falhaEscrita.compareAndSet(null, e);
+              } finally {
+                emAndamento.release();
+              }
+            });
+      }
+    } catch (JsonProcessingException e) {
+      erroLeitura = "Pedido " + (lidos + 1) + " inválido: " + e.getOriginalMessage();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Processamento do fluxo interrompido");
+    } finally {
+      emAndamento.acquireUninterruptibly(vagas);
+    }
+
+    if (falhaEscrita.get() != null) {
+      throw falhaEscrita.get();
+    }
+    if (erroLeitura != null) {
+      log.warn("Fluxo de pedidos encerrado após {} pedido(s): {}", lidos, erroLeitura);
+      escreverLinha(saida, Map.of("erro", erroLeitura));
+    }
+    log.info("Fluxo de pedidos concluído: {} pedido(s)", lidos);
+  }
+
+  // Cada resposta é serializada fora da trava e escrita inteira, seguida de quebra de linha.
+  private void escreverLinha(OutputStream saida, Object valor) throws IOException {
+    byte[] linha = objectMapper.writeValueAsBytes(valor);
+    synchronized (saida) {
+      saida.write(linha);
+      saida.write('\n');
+      saida.flush();
+    }
+  }
+
+  // Uma falha em um pedido não interrompe os demais: o pedido volta sem caixas e com o erro.
+  private PedidoResponseDTO processarPedidoIsolado(PedidoDTO pedidoDTO, TipoEstrategia estrategia) {
+    try {
+      return processarPedido(pedidoDTO, estrategia);
+    } catch (RuntimeException e) {
+      log.error("Falha ao processar pedido ID: {}", pedidoDTO.getPedido_id(), e);
+      return PedidoResponseDTO.comErro(
+          pedidoDTO.getPedido_id(), "Falha ao processar pedido: " + e.getMessage());
+    }
   }
 
-  private PedidoResponseDTO processarPedido(PedidoDTO pedidoDTO) {
-    log.debug("Processando pedido ID: {}", pedidoDTO.getPedido_id());
+  // Com threads virtuais o número de pedidos simultâneos não é limitado pelas threads, então o
+  // semáforo impede que o empacotamento, que só usa CPU, ocupe mais núcleos do que o configurado.
+  private PedidoResponseDTO processarPedido(PedidoDTO pedidoDTO, TipoEstrategia estrategia) {
     List<Produto> produtos =
         pedidoDTO.getProdutos().stream().map(this::convertToEntity).collect(Collectors.toList());
 
     Pedido pedido = new Pedido(pedidoDTO.getPedido_id(), produtos);
-    return empacotamentoService.processar(pedido);
+    empacotamentos.acquireUninterruptibly();
+    try {
+      return empacotamentoService.processar(pedido, estrategia);
+    } finally {
+      empacotamentos.release();
+    }
   }
 
   private Produto convertToEntity(ProdutoDTO dto) {
@@ -0,0 +1,157 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Posicao;
+import com.lojajogos.embalagem.model.Produto;
+import java.util.ArrayList;
+import java.util.List;
+
+// Produtos empilhados em linha dentro de uma caixa, com um acumulador por eixo de empilhamento
+// (soma no eixo empilhado; nos outros dois eixos cada produto precisa caber na seção transversal).
+// Como a restrição transversal é individual, a orientação de menor extensão no eixo empilhado
+// domina as demais para cada produto, e um eixo é descartado assim que sua soma excede a caixa.
+final class Empilhamento {
+
+  private int altura;
+  private int largura;
+  private int comprimento;
+
+  private int somaAltura;
+  private int somaLargura;
+  private int somaComprimento;
+  private boolean cabeAltura;
+  private boolean cabeLargura;
+  private boolean cabeComprimento;
+
+  Empilhamento(Dimensao caixa) {
+    reiniciar(caixa);
+  }
+
+  void reiniciar(Dimensao caixa) {
+    altura = caixa.getAltura();
+    largura = caixa.getLargura();
+    comprimento = caixa.getComprimento();
+    somaAltura = 0;
+    somaLargura = 0;
+    somaComprimento = 0;
+    cabeAltura = true;
+    cabeLargura = true;
+    cabeComprimento = true;
+  }
+
+  boolean cabe() {
+    return cabeAltura || cabeLargura || cabeComprimento;
+  }
+
+  // Maior espaço livre entre os eixos em que o empilhamento ainda cabe. Nenhum produto cuja menor
+  // medida exceda esse valor pode mais ser adicionado.
+  int maiorFolga() {
+    int folga = -1;
+    if (cabeAltura) {
+      folga = Math.max(folga, altura - somaAltura);
+    }
+    if (cabeLargura) {
+      folga = Math.max(folga, largura - somaLargura);
+    }
+    if (cabeComprimento) {
+      folga = Math.max(folga, comprimento - somaComprimento);
+    }
+    return folga;
+  }
+
+  // Verifica se o produto ainda cabe sem alterar o empilhamento.
+  boolean aceita(Dimensao dim) {
+    int menor = dim.getMenor();
+    int maior = dim.getMaior();
+    int medio = dim.getMedio();
+    return cabeNoEixo(cabeAltura, somaAltura, altura, menor, medio, maior, largura, comprimento)
+        || cabeNoEixo(cabeLargura, somaLargura, largura, menor, medio, maior, altura, comprimento)
+        || cabeNoEixo(
+            cabeComprimento, somaComprimento, comprimento, menor, medio, maior, altura, largura);
+  }
+
+  boolean adicionar(Dimensao dim) {
+    int menor = dim.getMenor();
+    int maior = dim.getMaior();
+    int medio = dim.getMedio();
+
+    if (cabeAltura) {
+      int extensao = Dimensao.menorExtensao(menor, medio, maior, largura, comprimento);
+      somaAltura += extensao;
+      cabeAltura = extensao != Dimensao.SEM_ENCAIXE && somaAltura <= altura;
+    }
+    if (cabeLargura) {
+      int extensao = Dimensao.menorExtensao(menor, medio, maior, altura, comprimento);
+      somaLargura += extensao;
+      cabeLargura = extensao != Dimensao.SEM_ENCAIXE && somaLargura <= largura;
+    }
+    if (cabeComprimento) {
+      int extensao = Dimensao.menorExtensao(menor, medio, maior, altura, largura);
+      somaComprimento += extensao;
+      cabeComprimento = extensao != Dimensao.SEM_ENCAIXE && somaComprimento <= comprimento;
+    }
+    return cabe();
+  }
+
+  private static boolean cabeNoEixo(
+      boolean cabeEixo,
+      int soma,
+      int limite,
+      int menor,
+      int medio,
+      int maior,
+      int transversal1,
+      int transversal2) {
+    if (!cabeEixo) {
+      return false;
+    }
+    int extensao = Dimensao.menorExtensao(menor, medio, maior, transversal1, transversal2);
+    return extensao != Dimensao.SEM_ENCAIXE && soma + extensao <= limite;
+  }
+
+  // Posições dos produtos empilhados em linha no primeiro eixo (altura, largura, comprimento) em
+  // que todos cabem, ou null se não cabem em nenhum. Cada produto usa a orientação de menor
+  // extensão no eixo, como na verificação, e fica encostado no anterior.
+  static List<Posicao> posicionarEmLinha(Dimensao caixa, List<Produto> produtos) {
+    // limites por coordenada: x = comprimento, y = largura, z = altura
+    int[] limites = {caixa.getComprimento(), caixa.getLargura(), caixa.getAltura()};
+    for (int eixo = 2; eixo >= 0; eixo--) {
+      List<Posicao> posicoes = posicionarNoEixo(limites, eixo, produtos);
+      if (posicoes != null) {
+        return posicoes;
+      }
+    }
+    return null;
+  }
+
+  private static List<Posicao> posicionarNoEixo(int[] limites, int eixo, List<Produto> produtos) {
+    int transversal1 = (eixo + 1) % 3;
+    int transversal2 = (eixo + 2) % 3;
+    List<Posicao> posicoes = new ArrayList<>(produtos.size());
+    int inicio = 0;
+    for (Produto produto : produtos) {
+      Dimensao dim = produto.getDimensoes();
+      int menor = dim.getMenor();
+      int maior = dim.getMaior();
+      int medio = dim.getMedio();
+      int extensao =
+          Dimensao.menorExtensao(menor, medio, maior, limites[transversal1], limites[transversal2]);
+      if (extensao == Dimensao.SEM_ENCAIXE || inicio + extensao > limites[eixo]) {
+        return null;
+      }
+      // as duas medidas que sobram ocupam a seção transversal, a menor no lado menor
+      int ladoMenor = extensao == menor ? medio : menor;
+      int ladoMaior = extensao == maior ? medio : maior;
+      int[] medidas = new int[3];
+      medidas[eixo] = extensao;
+      boolean primeiroMenor = limites[transversal1] <= limites[transversal2];
+      medidas[transversal1] = primeiroMenor ? ladoMenor : ladoMaior;
+      medidas[transversal2] = primeiroMenor ? ladoMaior : ladoMenor;
+      int[] canto = new int[3];
+      canto[eixo] = inicio;
+      posicoes.add(new Posicao(canto[0], canto[1], canto[2], medidas[0], medidas[1], medidas[2]));
+      inicio += extensao;
+    }
+    return posicoes;
+  }
+}
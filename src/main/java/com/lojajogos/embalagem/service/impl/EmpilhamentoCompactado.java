@@ -0,0 +1,154 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.Arrays;
+
+// Versão da verificação de Empilhamento para a busca exaustiva: para uma caixa e os produtos ainda
+// não alocados, a menor extensão de cada produto em cada eixo é calculada uma única vez por rodada.
+// Testar um grupo vira somar inteiros de três arrays pelos índices do grupo, sem alocar nada. A
+// soma dos volumes, mais barata, serve de filtro antes das extensões: um grupo que cabe empilhado
+// nunca tem mais volume que a caixa.
+final class EmpilhamentoCompactado {
+
+  private final int altura;
+  private final int largura;
+  private final int comprimento;
+  private final long volumeCaixa;
+  private final long[] volume;
+  private final int[] extensaoAltura;
+  private final int[] extensaoLargura;
+  private final int[] extensaoComprimento;
+
+  // "ativos[0..quantidade)" são as posições, em "produtos", dos produtos ainda não alocados; os
+  // índices passados a cabe() referem-se a essa lista.
+  EmpilhamentoCompactado(
+      TipoCaixa caixa, ProdutosCompactados produtos, int[] ativos, int quantidade) {
+    altura = caixa.getDimensoes().getAltura();
+    largura = caixa.getDimensoes().getLargura();
+    comprimento = caixa.getDimensoes().getComprimento();
+    volumeCaixa = caixa.getVolume();
+    volume = new long[quantidade];
+    extensaoAltura = new int[quantidade];
+    extensaoLargura = new int[quantidade];
+    extensaoComprimento = new int[quantidade];
+    for (int i = 0; i < quantidade; i++) {
+      int maior = produtos.maior(ativos[i]);
+      int medio = produtos.medio(ativos[i]);
+      int menor = produtos.menor(ativos[i]);
+      volume[i] = produtos.volume(ativos[i]);
+      extensaoAltura[i] =
+          extensao(Dimensao.menorExtensao(menor, medio, maior, largura, comprimento), altura);
+      extensaoLargura[i] =
+          extensao(Dimensao.menorExtensao(menor, medio, maior, altura, comprimento), largura);
+      extensaoComprimento[i] =
+          extensao(Dimensao.menorExtensao(menor, medio, maior, altura, largura), comprimento);
+    }
+  }
+
+  // Um produto que não cabe na seção transversal recebe extensão maior que o eixo, o que reprova
+  // qualquer grupo que o contenha sem um teste a mais no laço.
+  private static int extensao(int menorExtensao, int limite) {
+    return menorExtensao == Dimensao.SEM_ENCAIXE ? limite + 1 : menorExtensao;
+  }
+
+  boolean cabeEmVolume(int[] indices, int k) {
+    long soma = 0;
+    for (int i = 0; i < k; i++) {
+      soma += volume[indices[i]];
+      if (soma > volumeCaixa) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Limite superior para o tamanho de um grupo que cabe: quantos dos menores produtos cabem em
+  // volume e, no melhor eixo, em extensão. Tamanhos acima dele não precisam ser enumerados.
+  int maiorTamanhoPossivel() {
+    int porExtensao =
+        Math.max(
+            quantosCabem(extensaoAltura, altura),
+            Math.max(
+                quantosCabem(extensaoLargura, largura),
+                quantosCabem(extensaoComprimento, comprimento)));
+    long[] volumes = volume.clone();
+    Arrays.sort(volumes);
+    long soma = 0;
+    int porVolume = 0;
+    while (porVolume < volumes.length && (soma += volumes[porVolume]) <= volumeCaixa) {
+      porVolume++;
+    }
+    return Math.min(porExtensao, porVolume);
+  }
+
+  private static int quantosCabem(int[] extensoes, int limite) {
+    int[] ordenadas = extensoes.clone();
+    Arrays.sort(ordenadas);
+    int soma = 0;
+    int quantos = 0;
+    while (quantos < ordenadas.length && (soma += ordenadas[quantos]) <= limite) {
+      quantos++;
+    }
+    return quantos;
+  }
+
+  // Teste incremental para quem monta grupos produto a produto: "somas" guarda a soma das
+  // extensões do grupo em cada eixo (altura, largura, comprimento) e a dos volumes, na mesma ordem
+  // de cabe().
+  void somar(long[] somas, int indice) {
+    somar(somas, indice, 1);
+  }
+
+  // Acrescenta "vezes" cópias do produto, para grupos montados por quantidade de cada medida.
+  void somar(long[] somas, int indice, int vezes) {
+    somas[0] += (long) vezes * extensaoAltura[indice];
+    somas[1] += (long) vezes * extensaoLargura[indice];
+    somas[2] += (long) vezes * extensaoComprimento[indice];
+    somas[3] += vezes * volume[indice];
+  }
+
+  boolean cabeEmVolume(long[] somas) {
+    return somas[3] <= volumeCaixa;
+  }
+
+  boolean cabe(long[] somas) {
+    return somas[3] <= volumeCaixa
+        && (somas[0] <= altura || somas[1] <= largura || somas[2] <= comprimento);
+  }
+
+  // O grupo de "somas" acrescido do produto ainda cabe.
+  boolean cabeAcrescido(long[] somas, int indice) {
+    return somas[3] + volume[indice] <= volumeCaixa
+        && (somas[0] + extensaoAltura[indice] <= altura
+            || somas[1] + extensaoLargura[indice] <= largura
+            || somas[2] + extensaoComprimento[indice] <= comprimento);
+  }
+
+  // Menor fração de um eixo que o produto ocupa sozinho. Como um grupo que cabe soma no máximo um
+  // eixo inteiro, a soma dessas frações é limite inferior do número de caixas deste tipo.
+  double menorOcupacao(int indice) {
+    return Math.min(
+        (double) extensaoAltura[indice] / altura,
+        Math.min(
+            (double) extensaoLargura[indice] / largura,
+            (double) extensaoComprimento[indice] / comprimento));
+  }
+
+  boolean cabe(int[] indices, int k) {
+    return cabeNoEixo(extensaoAltura, altura, indices, k)
+        || cabeNoEixo(extensaoLargura, largura, indices, k)
+        || cabeNoEixo(extensaoComprimento, comprimento, indices, k);
+  }
+
+  private static boolean cabeNoEixo(int[] extensoes, int limite, int[] indices, int k) {
+    int soma = 0;
+    for (int i = 0; i < k; i++) {
+      soma += extensoes[indices[i]];
+      if (soma > limite) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,59 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Posicao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.ArrayList;
+import java.util.List;
+
+// Operações comuns às estratégias de empacotamento.
+final class Encaixe {
+
+  private Encaixe() {}
+
+  // Maior volume primeiro; empates são desfeitos pelas dimensões ordenadas, de modo que a ordem
+  // dependa só do multiconjunto de medidas do pedido e não da ordem em que os produtos chegaram.
+  // Compara os campos primitivos já calculados na Dimensao, sem extratores que encaixotam.
+  static List<Produto> ordenarPorVolume(List<Produto> produtos) {
+    List<Produto> ordenados = new ArrayList<>(produtos);
+    ordenados.sort(Encaixe::compararPorVolumeDecrescente);
+    return ordenados;
+  }
+
+  private static int compararPorVolumeDecrescente(Produto p1, Produto p2) {
+    Dimensao d1 = p1.getDimensoes();
+    Dimensao d2 = p2.getDimensoes();
+    int comparacao = Long.compare(d2.getVolume(), d1.getVolume());
+    if (comparacao == 0) {
+      comparacao = Integer.compare(d2.getMaior(), d1.getMaior());
+    }
+    if (comparacao == 0) {
+      comparacao = Integer.compare(d2.getMenor(), d1.getMenor());
+    }
+    return comparacao;
+  }
+
+  static Caixa caixaEspecial(Produto produto) {
+    Caixa caixaEspecial = new Caixa(null, new Dimensao(0, 0, 0));
+    caixaEspecial.adicionarProduto(produto);
+    return caixaEspecial;
+  }
+
+  // Caixa com os produtos empilhados em linha, modelo usado pela busca exaustiva e pelas
+  // heurísticas lineares.
+  static Caixa novaCaixa(TipoCaixa tipoCaixa, List<Produto> produtos) {
+    return novaCaixa(
+        tipoCaixa, produtos, Empilhamento.posicionarEmLinha(tipoCaixa.getDimensoes(), produtos));
+  }
+
+  static Caixa novaCaixa(TipoCaixa tipoCaixa, List<Produto> produtos, List<Posicao> posicoes) {
+    Caixa caixa = tipoCaixa.novaCaixa();
+    for (Produto produto : produtos) {
+      caixa.adicionarProduto(produto);
+    }
+    caixa.setPosicoes(posicoes);
+    return caixa;
+  }
+}
@@ -0,0 +1,37 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoService;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstrategiaBestFitDecreasing extends EstrategiaHeuristicaLinear {
+
+  public EstrategiaBestFitDecreasing(CatalogoService catalogoService) {
+    super(catalogoService);
+  }
+
+  @Override
+  public TipoEstrategia getTipo() {
+    return TipoEstrategia.BEST_FIT_DECREASING;
+  }
+
+  // Entre as caixas que aceitam o produto, a que fica com menos volume livre depois dele.
+  @Override
+  protected CaixaAberta escolher(List<CaixaAberta> abertas, Produto produto) {
+    CaixaAberta melhor = null;
+    long menorSobra = Long.MAX_VALUE;
+    for (CaixaAberta aberta : abertas) {
+      if (aberta.aceita(produto)) {
+        long sobra = aberta.volumeLivreApos(produto);
+        if (sobra < menorSobra) {
+          melhor = aberta;
+          menorSobra = sobra;
+        }
+      }
+    }
+    return melhor;
+  }
+}
@@ -0,0 +1,356 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.Compatibilidade;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EstrategiaEmpacotamento;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstrategiaExaustiva implements EstrategiaEmpacotamento {
+
+  // Combinações varridas sequencialmente por cada tarefa folha da busca paralela.
+  private static final long TAMANHO_BLOCO = 4096;
+
+  private static final long NENHUM = Long.MAX_VALUE;
+
+  private static final int[] SEM_GRUPO = new int[0];
+
+  private final ForkJoinPool poolEmpacotamento;
+  private final EmbalagemProperties properties;
+  private final CacheEncaixe cacheEncaixe;
+  private final CatalogoService catalogoService;
+  private final ContadoresPoda contadoresPoda = new ContadoresPoda();
+
+  public EstrategiaExaustiva(
+      ForkJoinPool poolEmpacotamento,
+      EmbalagemProperties properties,
+      CacheEncaixe cacheEncaixe,
+      CatalogoService catalogoService) {
+    this.poolEmpacotamento = poolEmpacotamento;
+    this.properties = properties;
+    this.cacheEncaixe = cacheEncaixe;
+    this.catalogoService = catalogoService;
+  }
+
+  public ContadoresPoda getContadoresPoda() {
+    return contadoresPoda;
+  }
+
+  @Override
+  public TipoEstrategia getTipo() {
+    return TipoEstrategia.EXAUSTIVA;
+  }
+
+  @Override
+  public ResultadoEmpacotamento empacotar(Pedido pedido, ContextoBusca contexto) {
+    CatalogoCaixas catalogo = catalogoService.atual();
+    ProdutosCompactados produtos =
+        new ProdutosCompactados(Encaixe.ordenarPorVolume(pedido.getProdutos()));
+    // Produtos ainda não alocados, por posição na lista ordenada. Tirar um grupo custa O(k) e
+    // trabalha por posição, então produtos repetidos (iguais por equals) não saem juntos.
+    BitSet restantes = new BitSet(produtos.tamanho());
+    int[] ativos = new int[produtos.tamanho()];
+    // Os que não cabem sozinhos em caixa alguma vão direto para caixas especiais, sem passar pelas
+    // rodadas da busca.
+    Compatibilidade[] compatibilidades = new Compatibilidade[produtos.tamanho()];
+    List<Produto> semCaixa = new ArrayList<>();
+    for (int i = 0; i < produtos.tamanho(); i++) {
+      compatibilidades[i] = catalogo.compatibilidade(produtos.produto(i).getDimensoes());
+      if (compatibilidades[i].comportaEmAlgum()) {
+        restantes.set(i);
+      } else {
+        semCaixa.add(produtos.produto(i));
+      }
+    }
+
+    List<Caixa> caixasUtilizadas = new ArrayList<>();
+
+    while (!restantes.isEmpty()) {
+      // a busca de cada rodada enumera combinações sobre uma lista densa dos restantes
+      int quantidade = listar(restantes, ativos);
+      // O maior grupo só não é vazio nos tipos que comportam algum restante; a busca usa o
+      // primeiro deles na ordem do catálogo, sem testar os anteriores.
+      int tipo = Integer.MAX_VALUE;
+      for (int i = 0; i < quantidade; i++) {
+        tipo = Math.min(tipo, compatibilidades[ativos[i]].getPrimeiro());
+      }
+      TipoCaixa tipoCaixa = catalogo.tipo(tipo);
+
+      int[] melhorGrupo =
+          encontrarMaiorGrupoQueCabe(
+              produtos, compatibilidades, ativos, quantidade, tipo, tipoCaixa, contexto);
+      if (contexto.isEsgotado()) {
+        List<Produto> naoAlocados = selecionar(produtos, ativos, null, quantidade);
+        naoAlocados.addAll(semCaixa);
+        return ResultadoEmpacotamento.parcial(caixasUtilizadas, naoAlocados);
+      }
+      caixasUtilizadas.add(
+          Encaixe.novaCaixa(
+              tipoCaixa, selecionar(produtos, ativos, melhorGrupo, melhorGrupo.length)));
+      for (int indice : melhorGrupo) {
+        restantes.clear(ativos[indice]);
+      }
+    }
+    for (Produto produto : semCaixa) {
+      caixasUtilizadas.add(Encaixe.caixaEspecial(produto));
+    }
+
+    return ResultadoEmpacotamento.completo(caixasUtilizadas, true);
+  }
+
+  private boolean buscaParalela(int n) {
+    if (poolEmpacotamento.getParallelism() < 2) {
+      return false;
+    }
+    // 2^n - 1 subconjuntos no pior caso
+    return n >= Long.SIZE - 1 || (1L << n) > properties.getParalelismo().getLimiarBusca();
+  }
+
+  // Índices, em ativos[0..n), do maior grupo que cabe na caixa; vazio se nenhum cabe.
+  private int[] encontrarMaiorGrupoQueCabe(
+      ProdutosCompactados produtos,
+      Compatibilidade[] compatibilidades,
+      int[] ativos,
+      int n,
+      int tipo,
+      TipoCaixa caixa,
+      ContextoBusca contexto) {
+    ChaveMedidas chave = cacheEncaixe.chave(caixa, produtos, ativos, n);
+    int[] memorizado = cacheEncaixe.buscar(chave);
+    if (memorizado != null) {
+      return memorizado;
+    }
+
+    // Um produto que não cabe sozinho na caixa não está em nenhum grupo que caiba. Tirá-lo da
+    // enumeração preserva a ordem lexicográfica dos grupos restantes, então o grupo escolhido é o
+    // mesmo da busca sobre todos os ativos.
+    int[] candidatos = new int[n];
+    int[] posicoes = new int[n];
+    int[] maximos = new int[n];
+    int m = 0;
+    for (int i = 0; i < n; i++) {
+      Compatibilidade compatibilidade = compatibilidades[ativos[i]];
+      if (compatibilidade.comporta(tipo)) {
+        candidatos[m] = i;
+        maximos[m] = compatibilidade.maximoEmpilhado(tipo);
+        posicoes[m++] = ativos[i];
+      }
+    }
+    EmpilhamentoCompactado empilhamento = new EmpilhamentoCompactado(caixa, produtos, posicoes, m);
+    int maiorTamanho = empilhamento.maiorTamanhoPossivel();
+    contadoresPoda.registrarRodada(n - m, m - maiorTamanho);
+
+    boolean paralela = buscaParalela(m);
+    // Com produtos repetidos, a busca enumera quantas unidades de cada medida entram no grupo em
+    // vez de quais unidades. Só quando quase todos são distintos a varredura das combinações,
+    // dividida entre as threads, percorre menos grupos por thread.
+    Composicoes composicoes = new Composicoes(produtos, posicoes, maximos, m, empilhamento);
+    if (composicoes.classes() < m
+        && (!paralela
+            || m >= Long.SIZE - 1
+            || composicoes.total() < (1L << m) / poolEmpacotamento.getParallelism())) {
+      int[] indices = new int[maiorTamanho];
+      for (int k = maiorTamanho; k >= 1; k--) {
+        if (composicoes.primeiroQueCabe(k, indices, contexto, contadoresPoda)) {
+          for (int i = 0; i < k; i++) {
+            indices[i] = candidatos[indices[i]];
+          }
+          cacheEncaixe.registrar(chave, indices, k);
+          return Arrays.copyOf(indices, k);
+        }
+        if (contexto.isEsgotado()) {
+          return SEM_GRUPO;
+        }
+      }
+      cacheEncaixe.registrar(chave, null, 0);
+      return SEM_GRUPO;
+    }
+
+    for (int k = maiorTamanho; k >= 1; k--) {
+      long total = Combinacoes.binomial(m, k);
+      MenorGrupo menor = new MenorGrupo();
+      if (paralela
+          && total != Combinacoes.SATURADO
+          && total > properties.getParalelismo().getLimiarBusca()) {
+        executar(new BuscaFaixa(empilhamento, m, k, 0, total, menor, contexto, contadoresPoda));
+      } else {
+        // com total saturado a varredura só termina no fim das combinações ou no primeiro grupo
+        varrer(empilhamento, m, k, 0, total, menor, contexto, contadoresPoda);
+      }
+      if (contexto.isEsgotado()) {
+        return SEM_GRUPO;
+      }
+      int[] indices = menor.indices();
+      if (indices != null) {
+        for (int i = 0; i < k; i++) {
+          indices[i] = candidatos[indices[i]];
+        }
+        cacheEncaixe.registrar(chave, indices, k);
+        return indices;
+      }
+    }
+    cacheEncaixe.registrar(chave, null, 0);
+    return SEM_GRUPO;
+  }
+
+  // Varre as combinações de tamanho k com posto lexicográfico em [inicio, fim) e registra em menor
+  // a primeira que cabe. Para assim que uma faixa anterior já encontrou um grupo, já que só o menor
+  // posto é aproveitado. Um início diferente de zero só vem da busca dividida, que exige C(n, k)
+  // sem saturar.
+  private static void varrer(
+      EmpilhamentoCompactado empilhamento,
+      int n,
+      int k,
+      long inicio,
+      long fim,
+      MenorGrupo menor,
+      ContextoBusca contexto,
+      ContadoresPoda contadores) {
+    int[] indices = new int[k];
+    if (inicio == 0) {
+      Combinacoes.primeira(indices, k);
+    } else {
+      Combinacoes.desranquear(indices, k, n, inicio);
+    }
+    int nosPendentes = 0;
+    long porVolume = 0;
+    long porExtensao = 0;
+    long posto = inicio;
+    do {
+      if (++nosPendentes == ContextoBusca.INTERVALO_VERIFICACAO) {
+        nosPendentes = 0;
+        if (!contexto.registrarNos(ContextoBusca.INTERVALO_VERIFICACAO) || posto > menor.posto()) {
+          break;
+        }
+      }
+      if (!empilhamento.cabeEmVolume(indices, k)) {
+        porVolume++;
+      } else if (empilhamento.cabe(indices, k)) {
+        menor.registrar(posto, indices, k);
+        posto++;
+        break;
+      } else {
+        porExtensao++;
+      }
+      posto++;
+    } while (posto < fim && Combinacoes.proxima(indices, k, n));
+    contexto.registrarNos(nosPendentes);
+    contadores.registrarVarredura(posto - inicio, porVolume, porExtensao);
+  }
+
+  // Produtos de ativos[indices[i]] para i < k; com indices nulo, os k primeiros ativos.
+  private static List<Produto> selecionar(
+      ProdutosCompactados produtos, int[] ativos, int[] indices, int k) {
+    List<Produto> grupo = new ArrayList<>(k);
+    for (int i = 0; i < k; i++) {
+      grupo.add(produtos.produto(ativos[indices == null ? i : indices[i]]));
+    }
+    return grupo;
+  }
+
+  // Preenche ativos com as posições marcadas em restantes, em ordem crescente, e devolve quantas
+  // são.
+  private static int listar(BitSet restantes, int[] ativos) {
+    int quantidade = 0;
+    for (int i = restantes.nextSetBit(0); i >= 0; i = restantes.nextSetBit(i + 1)) {
+      ativos[quantidade++] = i;
+    }
+    return quantidade;
+  }
+
+  private void executar(ForkJoinTask<?> tarefa) {
+    if (ForkJoinTask.getPool() == poolEmpacotamento) {
+      tarefa.invoke();
+    } else {
+      poolEmpacotamento.invoke(tarefa);
+    }
+  }
+
+  // Divide a faixa de postos ao meio até o tamanho de um bloco; a metade inferior é executada
+  // primeiro, o que tende a encontrar cedo o menor posto e cancelar o restante.
+  private static final class BuscaFaixa extends RecursiveAction {
+    private final EmpilhamentoCompactado empilhamento;
+    private final int n;
+    private final int k;
+    private final long inicio;
+    private final long fim;
+    private final MenorGrupo menor;
+    private final ContextoBusca contexto;
+    private final ContadoresPoda contadores;
+
+    private BuscaFaixa(
+        EmpilhamentoCompactado empilhamento,
+        int n,
+        int k,
+        long inicio,
+        long fim,
+        MenorGrupo menor,
+        ContextoBusca contexto,
+        ContadoresPoda contadores) {
+      this.empilhamento = empilhamento;
+      this.n = n;
+      this.k = k;
+      this.inicio = inicio;
+      this.fim = fim;
+      this.menor = menor;
+      this.contexto = contexto;
+      this.contadores = contadores;
+    }
+
+    @Override
+    protected void compute() {
+      if (inicio > menor.posto() || contexto.isEsgotado()) {
+        return;
+      }
+      if (fim - inicio <= TAMANHO_BLOCO) {
+        varrer(empilhamento, n, k, inicio, fim, menor, contexto, contadores);
+        return;
+      }
+      long meio = inicio + (fim - inicio) / 2;
+      BuscaFaixa superior =
+          new BuscaFaixa(empilhamento, n, k, meio, fim, menor, contexto, contadores);
+      superior.fork();
+      new BuscaFaixa(empilhamento, n, k, inicio, meio, menor, contexto, contadores).compute();
+      superior.join();
+    }
+  }
+
+  // Menor posto em que alguma faixa encontrou um grupo que cabe, junto com os índices do grupo,
+  // para
+  // que o vencedor não precise ser reconstruído a partir do posto.
+  private static final class MenorGrupo {
+    private volatile long posto = NENHUM;
+    private int[] indices;
+
+    long posto() {
+      return posto;
+    }
+
+    synchronized void registrar(long posto, int[] indices, int k) {
+      if (posto < this.posto) {
+        this.indices = Arrays.copyOf(indices, k);
+        this.posto = posto;
+      }
+    }
+
+    synchronized int[] indices() {
+      return indices;
+    }
+  }
+}
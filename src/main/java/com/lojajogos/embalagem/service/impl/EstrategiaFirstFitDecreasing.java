@@ -0,0 +1,30 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoService;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EstrategiaFirstFitDecreasing extends EstrategiaHeuristicaLinear {
+
+  public EstrategiaFirstFitDecreasing(CatalogoService catalogoService) {
+    super(catalogoService);
+  }
+
+  @Override
+  public TipoEstrategia getTipo() {
+    return TipoEstrategia.FIRST_FIT_DECREASING;
+  }
+
+  @Override
+  protected CaixaAberta escolher(List<CaixaAberta> abertas, Produto produto) {
+    for (CaixaAberta aberta : abertas) {
+      if (aberta.aceita(produto)) {
+        return aberta;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,154 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EstrategiaEmpacotamento;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.List;
+
+// Base das heurísticas "decreasing": os produtos são visitados do maior para o menor volume e cada
+// um entra numa caixa já aberta escolhida pela subclasse, usando o mesmo modelo de empilhamento em
+// linha da busca exaustiva. Quando nenhuma caixa aberta comporta o produto, abre-se o maior tipo em
+// que ele cabe; ao final cada caixa é trocada pelo menor tipo que ainda comporta seu conteúdo.
+abstract class EstrategiaHeuristicaLinear implements EstrategiaEmpacotamento {
+
+  private final CatalogoService catalogoService;
+
+  protected EstrategiaHeuristicaLinear(CatalogoService catalogoService) {
+    this.catalogoService = catalogoService;
+  }
+
+  @Override
+  public ResultadoEmpacotamento empacotar(Pedido pedido, ContextoBusca contexto) {
+    CatalogoCaixas catalogo = catalogoService.atual();
+    List<Produto> ordenados = Encaixe.ordenarPorVolume(pedido.getProdutos());
+    int[] menorMedidaRestante = menorMedidaAPartirDe(ordenados);
+    // todas as caixas, na ordem de abertura, e só as que ainda podem receber algum produto
+    List<CaixaAberta> caixas = new ArrayList<>();
+    List<CaixaAberta> abertas = new ArrayList<>();
+    int fechadasEmAbertas = 0;
+    List<Caixa> caixasEspeciais = new ArrayList<>();
+
+    for (int i = 0; i < ordenados.size(); i++) {
+      Produto produto = ordenados.get(i);
+      contexto.registrarNo();
+      CaixaAberta escolhida = escolher(abertas, produto);
+      if (escolhida == null) {
+        TipoCaixa tipoCaixa = catalogo.maiorQueComporta(produto.getDimensoes());
+        if (tipoCaixa == null) {
+          caixasEspeciais.add(Encaixe.caixaEspecial(produto));
+          continue;
+        }
+        escolhida = new CaixaAberta(tipoCaixa);
+        caixas.add(escolhida);
+        abertas.add(escolhida);
+      }
+      escolhida.adicionar(produto);
+
+      // Uma caixa sem folga para a menor medida dos produtos seguintes não aceita mais nada. Ela
+      // sai das abertas em lotes, quando as fechadas passam de metade da lista, para que cada
+      // escolha percorra só caixas úteis e a remoção custe O(1) amortizado.
+      if (escolhida.fecharSeCheia(menorMedidaRestante[i + 1])) {
+        fechadasEmAbertas++;
+        if (2 * fechadasEmAbertas > abertas.size()) {
+          abertas.removeIf(CaixaAberta::isFechada);
+          fechadasEmAbertas = 0;
+        }
+      }
+    }
+
+    List<Caixa> caixasUtilizadas = new ArrayList<>(caixas.size() + caixasEspeciais.size());
+    for (CaixaAberta caixa : caixas) {
+      caixasUtilizadas.add(caixa.reduzir(catalogo));
+    }
+    caixasUtilizadas.addAll(caixasEspeciais);
+    return ResultadoEmpacotamento.completo(caixasUtilizadas, false);
+  }
+
+  // menorMedida[i] é a menor medida entre os produtos de i em diante; a última posição fica com
+  // Integer.MAX_VALUE, o que fecha todas as caixas depois do último produto.
+  private static int[] menorMedidaAPartirDe(List<Produto> ordenados) {
+    int[] menorMedida = new int[ordenados.size() + 1];
+    menorMedida[ordenados.size()] = Integer.MAX_VALUE;
+    for (int i = ordenados.size() - 1; i >= 0; i--) {
+      menorMedida[i] = Math.min(menorMedida[i + 1], ordenados.get(i).getDimensoes().getMenor());
+    }
+    return menorMedida;
+  }
+
+  // Caixa aberta que deve receber o produto, ou null para abrir uma nova.
+  protected abstract CaixaAberta escolher(List<CaixaAberta> abertas, Produto produto);
+
+  static final class CaixaAberta {
+    private final TipoCaixa tipoCaixa;
+    private final Empilhamento empilhamento;
+    private final List<Produto> produtos = new ArrayList<>();
+    private long volumeLivre;
+    private boolean fechada;
+
+    CaixaAberta(TipoCaixa tipoCaixa) {
+      this.tipoCaixa = tipoCaixa;
+      this.empilhamento = new Empilhamento(tipoCaixa.getDimensoes());
+      this.volumeLivre = tipoCaixa.getVolume();
+    }
+
+    boolean aceita(Produto produto) {
+      return !fechada && empilhamento.aceita(produto.getDimensoes());
+    }
+
+    boolean isFechada() {
+      return fechada;
+    }
+
+    // Fecha a caixa quando nenhum produto com menor medida "menorMedida" ou maior cabe mais nela.
+    // Devolve true só na chamada que a fecha.
+    boolean fecharSeCheia(int menorMedida) {
+      if (!fechada && empilhamento.maiorFolga() < menorMedida) {
+        fechada = true;
+        return true;
+      }
+      return false;
+    }
+
+    long volumeLivreApos(Produto produto) {
+      return volumeLivre - produto.getDimensoes().getVolume();
+    }
+
+    void adicionar(Produto produto) {
+      empilhamento.adicionar(produto.getDimensoes());
+      produtos.add(produto);
+      volumeLivre -= produto.getDimensoes().getVolume();
+    }
+
+    // Os tipos do catálogo estão em ordem crescente de volume, então o primeiro que comporta o
+    // conteúdo é o menor.
+    Caixa reduzir(CatalogoCaixas catalogo) {
+      for (TipoCaixa candidato : catalogo.getTipos()) {
+        if (candidato.getVolume() >= tipoCaixa.getVolume()) {
+          break;
+        }
+        if (comporta(candidato.getDimensoes())) {
+          return Encaixe.novaCaixa(candidato, produtos);
+        }
+      }
+      return Encaixe.novaCaixa(tipoCaixa, produtos);
+    }
+
+    private boolean comporta(Dimensao dimCaixa) {
+      Empilhamento teste = new Empilhamento(dimCaixa);
+      for (Produto produto : produtos) {
+        if (!teste.adicionar(produto.getDimensoes())) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,574 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.ObjetivoOtimizacao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EstrategiaEmpacotamento;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+// Escolhe o multiconjunto de caixas que minimiza o objetivo configurado (quantidade, volume ou
+// custo), com o mesmo modelo de empilhamento em linha da busca exaustiva. Em vez de encher uma
+// caixa de cada vez, a busca é um branch-and-bound em profundidade sobre os conjuntos de produtos
+// restantes, que guarda o menor custo com que cada conjunto já foi alcançado. A solução gulosa é o
+// ponto de partida; quando o orçamento de nós ou o prazo se esgota, a melhor solução encontrada até
+// ali é devolvida com otimo = false. Pedidos acima de embalagem.otimizacao.max-itens vão direto
+// para o first fit decreasing.
+@Component
+public class EstrategiaOtimizada implements EstrategiaEmpacotamento {
+
+  private final EmbalagemProperties properties;
+  private final CatalogoService catalogoService;
+  private final EstrategiaFirstFitDecreasing firstFit;
+
+  public EstrategiaOtimizada(
+      EmbalagemProperties properties,
+      CatalogoService catalogoService,
+      EstrategiaFirstFitDecreasing firstFit) {
+    this.properties = properties;
+    this.catalogoService = catalogoService;
+    this.firstFit = firstFit;
+  }
+
+  @Override
+  public TipoEstrategia getTipo() {
+    return TipoEstrategia.OTIMIZADA;
+  }
+
+  @Override
+  public ResultadoEmpacotamento empacotar(Pedido pedido, ContextoBusca contexto) {
+    CatalogoCaixas catalogo = catalogoService.atual();
+    List<Caixa> caixas = new ArrayList<>();
+    List<Produto> candidatos = new ArrayList<>();
+    for (Produto produto : Encaixe.ordenarPorVolume(pedido.getProdutos())) {
+      if (catalogo.comportaEmAlgum(produto.getDimensoes())) {
+        candidatos.add(produto);
+      } else {
+        caixas.add(Encaixe.caixaEspecial(produto));
+      }
+    }
+    if (candidatos.isEmpty()) {
+      return ResultadoEmpacotamento.completo(caixas, true);
+    }
+
+    EmbalagemProperties.Otimizacao otimizacao = properties.getOtimizacao();
+    if (candidatos.size() > otimizacao.maxItensEfetivo()) {
+      return firstFit.empacotar(pedido, contexto);
+    }
+    ProdutosCompactados produtos = new ProdutosCompactados(candidatos);
+    Busca busca = new Busca(catalogo, produtos, otimizacao, contexto);
+    boolean otimo = busca.otimizar();
+
+    List<Caixa> empacotadas = new ArrayList<>();
+    for (long escolha : busca.solucao()) {
+      List<Produto> grupo = new ArrayList<>();
+      int conjunto = (int) escolha;
+      for (int i = conjunto; i != 0; i &= i - 1) {
+        grupo.add(produtos.produto(Integer.numberOfTrailingZeros(i)));
+      }
+      empacotadas.add(Encaixe.novaCaixa(busca.tipo((int) (escolha >>> 32)), grupo));
+    }
+    empacotadas.addAll(caixas);
+    return ResultadoEmpacotamento.completo(empacotadas, otimo);
+  }
+
+  // Estado da busca de um pedido. Os produtos são bits de um int, na ordem decrescente de volume,
+  // e cada caixa de uma solução é codificada num long com o índice do tipo nos 32 bits altos e o
+  // conjunto de produtos nos baixos.
+  private static final class Busca {
+
+    private static final int BITS_PARCELA = 16;
+
+    private final ContextoBusca contexto;
+    private final long maxNos;
+    private final int n;
+    private final long[] volume;
+    // tipos em ordem crescente de custo e, no empate, de volume: o primeiro que comporta um grupo
+    // é o melhor para ele
+    private final TipoCaixa[] tipos;
+    private final long[] custo;
+    private final EmpilhamentoCompactado[] empilhamentos;
+    // produtos que cabem sozinhos em cada tipo; zero para tipos que a busca não precisa abrir
+    private final int[] cabemSozinhos;
+    // menor custo de uma caixa que comporta cada produto sozinho
+    private final long[] custoMinimo;
+    // menor custo por unidade de volume entre os tipos, para o limite inferior por volume
+    private final double razaoMinima;
+    // menor parcela do custo de uma caixa que cada produto pode ocupar, para o limite inferior por
+    // extensão, em ponto fixo com BITS_PARCELA bits de fração e arredondada para baixo, para que as
+    // somas e subtrações sejam exatas
+    private final long[] parcelaMinima;
+
+    // menor custo acumulado com que cada conjunto de restantes já foi alcançado; chegar de novo
+    // com custo igual ou maior não melhora nada
+    private final Alcancados alcancados;
+    private final long[] caminho;
+    // opções de cada nível da busca, reaproveitadas entre os nós do mesmo nível
+    private final Opcoes[] opcoesPorNivel;
+    private int profundidade;
+    private long[] melhorSolucao;
+    private long melhorCusto;
+    private final int[] grupo;
+    // somas por eixo e de volume dos grupos em montagem, por tamanho do grupo
+    private final long[][] somas;
+    private final long[] todosDisponiveis = new long[4];
+    private int[] maximais = new int[16];
+    private int quantidadeMaximais;
+    private long nos;
+    private int nosPendentes;
+    private boolean interrompida;
+
+    Busca(
+        CatalogoCaixas catalogo,
+        ProdutosCompactados produtos,
+        EmbalagemProperties.Otimizacao otimizacao,
+        ContextoBusca contexto) {
+      ObjetivoOtimizacao objetivo = otimizacao.getObjetivo();
+      this.contexto = contexto;
+      this.maxNos = otimizacao.getMaxNos();
+      this.alcancados = new Alcancados(otimizacao.getMaxEstados());
+      this.n = produtos.tamanho();
+      this.volume = new long[n];
+      int[] todos = new int[n];
+      for (int i = 0; i < n; i++) {
+        volume[i] = produtos.volume(i);
+        todos[i] = i;
+      }
+      this.grupo = new int[n];
+      this.somas = new long[n + 1][4];
+      this.caminho = new long[n];
+      this.opcoesPorNivel = new Opcoes[n];
+
+      List<TipoCaixa> ordenados = new ArrayList<>(catalogo.getTipos());
+      ordenados.sort(
+          Comparator.comparingLong(objetivo::custo).thenComparingLong(TipoCaixa::getVolume));
+      int m = ordenados.size();
+      this.tipos = ordenados.toArray(new TipoCaixa[0]);
+      this.custo = new long[m];
+      this.empilhamentos = new EmpilhamentoCompactado[m];
+      this.cabemSozinhos = new int[m];
+      this.custoMinimo = new long[n];
+      Arrays.fill(custoMinimo, Long.MAX_VALUE);
+      this.parcelaMinima = new long[n];
+      Arrays.fill(parcelaMinima, Long.MAX_VALUE);
+      double razao = Double.MAX_VALUE;
+      for (int t = 0; t < m; t++) {
+        custo[t] = objetivo.custo(tipos[t]);
+        for (int i = 0; i < n; i++) {
+          if (produtos.cabeSozinho(i, tipos[t])) {
+            cabemSozinhos[t] |= 1 << i;
+            custoMinimo[i] = Math.min(custoMinimo[i], custo[t]);
+          }
+        }
+        if (cabemSozinhos[t] == 0) {
+          continue;
+        }
+        empilhamentos[t] = new EmpilhamentoCompactado(tipos[t], produtos, todos, n);
+        for (int i = cabemSozinhos[t]; i != 0; i &= i - 1) {
+          int produto = Integer.numberOfTrailingZeros(i);
+          double parcela = custo[t] * empilhamentos[t].menorOcupacao(produto);
+          // o desconto de uma unidade cobre o arredondamento do double
+          long fixa = Math.max(0, (long) Math.floor(Math.scalb(parcela, BITS_PARCELA)) - 1);
+          parcelaMinima[produto] = Math.min(parcelaMinima[produto], fixa);
+        }
+        razao = Math.min(razao, (double) custo[t] / tipos[t].getVolume());
+      }
+      this.razaoMinima = razao;
+      // Um tipo dominado por outro de custo menor ou igual nunca precisa ser aberto: o grupo que
+      // cabe nele cabe no outro. A troca pelo melhor tipo de cada grupo é feita na montagem.
+      for (int t = 0; t < m; t++) {
+        for (int u = 0; u < m && cabemSozinhos[t] != 0; u++) {
+          if (u != t
+              && cabemSozinhos[u] != 0
+              && custo[u] <= custo[t]
+              && tipos[u].domina(tipos[t])) {
+            cabemSozinhos[t] = 0;
+          }
+        }
+      }
+      this.melhorSolucao = gulosa();
+      for (long caixa : melhorSolucao) {
+        melhorCusto += custo[(int) (caixa >>> 32)];
+      }
+    }
+
+    TipoCaixa tipo(int indice) {
+      return tipos[indice];
+    }
+
+    // Melhor solução encontrada, com cada grupo no tipo de menor custo que o comporta.
+    long[] solucao() {
+      long[] caixas = new long[melhorSolucao.length];
+      for (int i = 0; i < caixas.length; i++) {
+        caixas[i] = caixa((int) melhorSolucao[i]);
+      }
+      return caixas;
+    }
+
+    // Procura soluções melhores que a gulosa; devolve true se a busca terminou, o que prova que a
+    // melhor encontrada é ótima.
+    boolean otimizar() {
+      buscar((1 << n) - 1, 0);
+      contexto.registrarNos(nosPendentes);
+      return !interrompida;
+    }
+
+    private void buscar(int restantes, long acumulado) {
+      if (restantes == 0) {
+        if (acumulado < melhorCusto) {
+          melhorCusto = acumulado;
+          melhorSolucao = Arrays.copyOf(caminho, profundidade);
+        }
+        return;
+      }
+      long volumeRestante = 0;
+      long parcelasRestantes = 0;
+      long maiorCustoMinimo = 0;
+      for (int i = restantes; i != 0; i &= i - 1) {
+        int produto = Integer.numberOfTrailingZeros(i);
+        volumeRestante += volume[produto];
+        parcelasRestantes += parcelaMinima[produto];
+        maiorCustoMinimo = Math.max(maiorCustoMinimo, custoMinimo[produto]);
+      }
+      long inferior = Math.max(limiteInferior(volumeRestante, parcelasRestantes), maiorCustoMinimo);
+      if (acumulado + inferior >= melhorCusto) {
+        return;
+      }
+      if (alcancados.alcancar(restantes, acumulado) <= acumulado) {
+        return;
+      }
+      if (!registrarNo()) {
+        return;
+      }
+
+      // O primeiro produto restante vai para alguma caixa; basta variar o tipo dela e o grupo que
+      // o acompanha. Como tirar produtos nunca encarece o restante, só os grupos maximais de cada
+      // tipo (aos quais nenhum outro restante pode ser acrescentado) precisam ser testados.
+      int primeiro = Integer.numberOfTrailingZeros(restantes);
+      Opcoes opcoes = opcoesPorNivel[profundidade];
+      if (opcoes == null) {
+        opcoes = opcoesPorNivel[profundidade] = new Opcoes();
+      }
+      opcoes.limpar();
+      for (int t = 0; t < tipos.length; t++) {
+        if ((cabemSozinhos[t] & (1 << primeiro)) == 0 || acumulado + custo[t] >= melhorCusto) {
+          continue;
+        }
+        gruposMaximais(t, restantes, primeiro);
+        for (int g = 0; g < quantidadeMaximais; g++) {
+          int conjunto = maximais[g];
+          // um grupo que também cabe num tipo anterior, de custo menor ou igual, já foi coberto
+          // por um grupo maximal daquele tipo que o contém
+          if (cabeEmTipoAnterior(t, conjunto)) {
+            continue;
+          }
+          long volumeGrupo = 0;
+          long parcelasGrupo = 0;
+          for (int i = conjunto; i != 0; i &= i - 1) {
+            int produto = Integer.numberOfTrailingZeros(i);
+            volumeGrupo += volume[produto];
+            parcelasGrupo += parcelaMinima[produto];
+          }
+          long estimativa =
+              custo[t]
+                  + limiteInferior(volumeRestante - volumeGrupo, parcelasRestantes - parcelasGrupo);
+          if (acumulado + estimativa < melhorCusto) {
+            opcoes.adicionar(estimativa, ((long) t << 32) | (conjunto & 0xFFFFFFFFL));
+          }
+        }
+      }
+
+      // As opções são visitadas da menor para a maior estimativa: as boas soluções aparecem cedo
+      // e as demais são descartadas em bloco assim que a estimativa alcança a melhor.
+      opcoes.ordenar();
+      for (int i = 0;
+          i < opcoes.quantidade && acumulado + opcoes.estimativaMinima(i) < melhorCusto;
+          i++) {
+        if (acumulado + opcoes.estimativa(i) >= melhorCusto) {
+          continue;
+        }
+        long opcao = opcoes.opcao(i);
+        caminho[profundidade++] = opcao;
+        buscar(restantes & ~(int) opcao, acumulado + custo[(int) (opcao >>> 32)]);
+        profundidade--;
+        if (interrompida) {
+          return;
+        }
+      }
+    }
+
+    // A soma dos volumes dos produtos não passa do volume das caixas, e a das extensões no eixo
+    // empilhado não passa do comprimento desse eixo. Além disso, cada produto ocupa uma caixa que o
+    // comporta, o que a busca soma à parte com o maior custoMinimo dos restantes.
+    private long limiteInferior(long volumeRestante, long parcelas) {
+      // a margem relativa absorve o arredondamento do double; o custo real é inteiro
+      long porVolume = (long) Math.ceil(volumeRestante * razaoMinima * (1 - 1e-12));
+      long porExtensao = (parcelas + (1L << BITS_PARCELA) - 1) >>> BITS_PARCELA;
+      return Math.max(porVolume, porExtensao);
+    }
+
+    private boolean registrarNo() {
+      if (++nos > maxNos) {
+        interrompida = true;
+      } else if (++nosPendentes == ContextoBusca.INTERVALO_VERIFICACAO) {
+        nosPendentes = 0;
+        if (!contexto.registrarNos(ContextoBusca.INTERVALO_VERIFICACAO)) {
+          interrompida = true;
+        }
+      }
+      return !interrompida;
+    }
+
+    // Grupos que contêm "primeiro", cabem no tipo t e não admitem mais nenhum dos restantes, na
+    // ordem em que o first fit os encontraria; ficam nas primeiras quantidadeMaximais posições de
+    // maximais.
+    private void gruposMaximais(int t, int restantes, int primeiro) {
+      quantidadeMaximais = 0;
+      Arrays.fill(somas[1], 0);
+      empilhamentos[t].somar(somas[1], primeiro);
+      int disponiveis = restantes & cabemSozinhos[t] & ~(1 << primeiro);
+      expandir(empilhamentos[t], 1, 1 << primeiro, disponiveis, 0);
+    }
+
+    // somas[k] tem as somas do grupo atual, de k produtos.
+    private void expandir(
+        EmpilhamentoCompactado empilhamento,
+        int k,
+        int conjunto,
+        int disponiveis,
+        int descartados) {
+      // se todos os disponíveis cabem juntos, o único grupo maximal daqui é o que leva todos
+      if (disponiveis != 0) {
+        System.arraycopy(somas[k], 0, todosDisponiveis, 0, todosDisponiveis.length);
+        for (int i = disponiveis; i != 0; i &= i - 1) {
+          empilhamento.somar(todosDisponiveis, Integer.numberOfTrailingZeros(i));
+        }
+        if (empilhamento.cabe(todosDisponiveis)) {
+          k += Integer.bitCount(disponiveis);
+          System.arraycopy(todosDisponiveis, 0, somas[k], 0, todosDisponiveis.length);
+          conjunto |= disponiveis;
+          disponiveis = 0;
+        }
+      }
+      if (disponiveis == 0) {
+        for (int i = descartados; i != 0; i &= i - 1) {
+          if (empilhamento.cabeAcrescido(somas[k], Integer.numberOfTrailingZeros(i))) {
+            return;
+          }
+        }
+        if (quantidadeMaximais == maximais.length) {
+          maximais = Arrays.copyOf(maximais, 2 * quantidadeMaximais);
+        }
+        maximais[quantidadeMaximais++] = conjunto;
+        return;
+      }
+      int produto = Integer.numberOfTrailingZeros(disponiveis);
+      int bit = 1 << produto;
+      if (empilhamento.cabeAcrescido(somas[k], produto)) {
+        System.arraycopy(somas[k], 0, somas[k + 1], 0, somas[k].length);
+        empilhamento.somar(somas[k + 1], produto);
+        expandir(empilhamento, k + 1, conjunto | bit, disponiveis & ~bit, descartados);
+      }
+      expandir(empilhamento, k, conjunto, disponiveis & ~bit, descartados | bit);
+    }
+
+    private boolean cabeEmTipoAnterior(int t, int conjunto) {
+      int k = 0;
+      for (int i = conjunto; i != 0; i &= i - 1) {
+        grupo[k++] = Integer.numberOfTrailingZeros(i);
+      }
+      for (int u = 0; u < t; u++) {
+        if (cabemSozinhos[u] != 0 && (cabemSozinhos[u] & conjunto) == conjunto && cabe(u, k)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean cabe(int t, int k) {
+      return empilhamentos[t].cabeEmVolume(grupo, k) && empilhamentos[t].cabe(grupo, k);
+    }
+
+    // Primeiro produto restante no maior tipo que o comporta, completado pelos seguintes que ainda
+    // cabem, como no first fit decreasing com uma caixa aberta por vez.
+    private long[] gulosa() {
+      long[] caixas = new long[n];
+      int quantidade = 0;
+      int restantes = (1 << n) - 1;
+      while (restantes != 0) {
+        int primeiro = Integer.numberOfTrailingZeros(restantes);
+        int maior = -1;
+        for (int t = 0; t < tipos.length; t++) {
+          if ((cabemSozinhos[t] & (1 << primeiro)) != 0
+              && (maior < 0 || tipos[t].getVolume() > tipos[maior].getVolume())) {
+            maior = t;
+          }
+        }
+        grupo[0] = primeiro;
+        int k = 1;
+        int conjunto = 1 << primeiro;
+        for (int i = restantes & ~conjunto & cabemSozinhos[maior]; i != 0; i &= i - 1) {
+          grupo[k] = Integer.numberOfTrailingZeros(i);
+          if (cabe(maior, k + 1)) {
+            conjunto |= 1 << grupo[k++];
+          }
+        }
+        caixas[quantidade++] = caixa(conjunto);
+        restantes &= ~conjunto;
+      }
+      return Arrays.copyOf(caixas, quantidade);
+    }
+
+    // O grupo no tipo de menor custo, e depois de menor volume, que o comporta.
+    private long caixa(int conjunto) {
+      int k = 0;
+      for (int i = conjunto; i != 0; i &= i - 1) {
+        grupo[k++] = Integer.numberOfTrailingZeros(i);
+      }
+      for (int t = 0; t < tipos.length; t++) {
+        if (empilhamentos[t] != null && cabe(t, k)) {
+          return ((long) t << 32) | (conjunto & 0xFFFFFFFFL);
+        }
+      }
+      throw new IllegalStateException("Grupo sem tipo de caixa que o comporte");
+    }
+  }
+
+  // Caixas candidatas de um estado, com a estimativa de custo total de cada uma (custo da caixa
+  // mais o limite inferior do restante). A ordenação usa um único long por opção, com a estimativa
+  // nos bits altos, reduzida se preciso, e a posição nos 24 bits baixos, para não encaixotar nada.
+  private static final class Opcoes {
+
+    private static final int BITS_POSICAO = 24;
+
+    private long[] estimativas = new long[16];
+    private long[] opcoes = new long[16];
+    private long[] ordem = new long[16];
+    private int deslocamento;
+    private int quantidade;
+
+    void limpar() {
+      quantidade = 0;
+    }
+
+    void adicionar(long estimativa, long opcao) {
+      if (quantidade == estimativas.length) {
+        estimativas = Arrays.copyOf(estimativas, 2 * quantidade);
+        opcoes = Arrays.copyOf(opcoes, 2 * quantidade);
+      }
+      estimativas[quantidade] = estimativa;
+      opcoes[quantidade++] = opcao;
+    }
+
+    void ordenar() {
+      if (quantidade >= 1 << BITS_POSICAO) {
+        throw new IllegalStateException("Opções demais para um único estado da busca");
+      }
+      long maior = 0;
+      for (int i = 0; i < quantidade; i++) {
+        maior = Math.max(maior, estimativas[i]);
+      }
+      deslocamento =
+          Math.max(
+              0, Long.SIZE - Long.numberOfLeadingZeros(maior) - (Long.SIZE - 1 - BITS_POSICAO));
+      if (ordem.length < quantidade) {
+        ordem = new long[estimativas.length];
+      }
+      for (int i = 0; i < quantidade; i++) {
+        ordem[i] = ((estimativas[i] >>> deslocamento) << BITS_POSICAO) | i;
+      }
+      Arrays.sort(ordem, 0, quantidade);
+    }
+
+    // Nunca maior que a estimativa da i-ésima opção nem que a das seguintes.
+    long estimativaMinima(int i) {
+      return (ordem[i] >>> BITS_POSICAO) << deslocamento;
+    }
+
+    long estimativa(int i) {
+      return estimativas[posicao(i)];
+    }
+
+    long opcao(int i) {
+      return opcoes[posicao(i)];
+    }
+
+    private int posicao(int i) {
+      return (int) (ordem[i] & ((1 << BITS_POSICAO) - 1));
+    }
+  }
+
+  // Menor custo acumulado com que cada conjunto de restantes foi alcançado, numa tabela de
+  // endereçamento aberto com as chaves num int[] e os custos num long[], sem encaixotar nada. O
+  // conjunto vazio nunca é guardado, então a chave zero marca uma posição livre.
+  private static final class Alcancados {
+
+    private final int limite;
+    private int[] conjuntos = new int[64];
+    private long[] custos = new long[64];
+    private int tamanho;
+
+    Alcancados(int limite) {
+      this.limite = limite;
+    }
+
+    // Devolve o menor custo guardado para o conjunto (Long.MAX_VALUE se nenhum) e guarda o novo
+    // custo se for menor. Acima do limite os conjuntos novos deixam de ser guardados; a poda fica
+    // mais fraca, mas continua correta.
+    long alcancar(int conjunto, long custo) {
+      int posicao = posicao(conjunto);
+      if (conjuntos[posicao] == conjunto) {
+        long anterior = custos[posicao];
+        if (custo < anterior) {
+          custos[posicao] = custo;
+        }
+        return anterior;
+      }
+      if (tamanho < limite) {
+        if (2 * (tamanho + 1) > conjuntos.length) {
+          crescer();
+          posicao = posicao(conjunto);
+        }
+        conjuntos[posicao] = conjunto;
+        custos[posicao] = custo;
+        tamanho++;
+      }
+      return Long.MAX_VALUE;
+    }
+
+    // Posição do conjunto ou, se ele não está na tabela, da primeira posição livre na sondagem.
+    private int posicao(int conjunto) {
+      int mascara = conjuntos.length - 1;
+      int posicao = (conjunto * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mascara);
+      while (conjuntos[posicao] != 0 && conjuntos[posicao] != conjunto) {
+        posicao = (posicao + 1) & mascara;
+      }
+      return posicao;
+    }
+
+    private void crescer() {
+      int[] conjuntosAntigos = conjuntos;
+      long[] custosAntigos = custos;
+      conjuntos = new int[2 * conjuntosAntigos.length];
+      custos = new long[conjuntos.length];
+      for (int i = 0; i < conjuntosAntigos.length; i++) {
+        if (conjuntosAntigos[i] != 0) {
+          int posicao = posicao(conjuntosAntigos[i]);
+          conjuntos[posicao] = conjuntosAntigos[i];
+          custos[posicao] = custosAntigos[i];
+        }
+      }
+    }
+  }
+}
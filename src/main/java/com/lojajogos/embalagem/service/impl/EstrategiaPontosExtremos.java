@@ -0,0 +1,130 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Posicao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.CatalogoService;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EstrategiaEmpacotamento;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+// Heurística 3D: diferente do empilhamento em linha, os produtos podem ocupar qualquer posição
+// livre da caixa. Segue o first-fit decreasing, abrindo o maior tipo que comporta o produto e
+// reduzindo no fim cada caixa ao menor tipo em que todo o conteúdo ainda pode ser posicionado.
+@Component
+public class EstrategiaPontosExtremos implements EstrategiaEmpacotamento {
+
+  private final CatalogoService catalogoService;
+
+  public EstrategiaPontosExtremos(CatalogoService catalogoService) {
+    this.catalogoService = catalogoService;
+  }
+
+  @Override
+  public TipoEstrategia getTipo() {
+    return TipoEstrategia.PONTOS_EXTREMOS;
+  }
+
+  @Override
+  public ResultadoEmpacotamento empacotar(Pedido pedido, ContextoBusca contexto) {
+    CatalogoCaixas catalogo = catalogoService.atual();
+    List<CaixaEspacial> abertas = new ArrayList<>();
+    List<Caixa> caixasEspeciais = new ArrayList<>();
+
+    for (Produto produto : Encaixe.ordenarPorVolume(pedido.getProdutos())) {
+      contexto.registrarNo();
+      boolean posicionado = false;
+      for (CaixaEspacial aberta : abertas) {
+        if (aberta.posicionar(produto)) {
+          posicionado = true;
+          break;
+        }
+      }
+      if (posicionado) {
+        continue;
+      }
+
+      TipoCaixa tipoCaixa = catalogo.maiorQueComporta(produto.getDimensoes());
+      if (tipoCaixa == null) {
+        caixasEspeciais.add(Encaixe.caixaEspecial(produto));
+        continue;
+      }
+      CaixaEspacial nova = new CaixaEspacial(tipoCaixa);
+      nova.posicionar(produto);
+      abertas.add(nova);
+    }
+
+    List<Caixa> caixasUtilizadas = new ArrayList<>(abertas.size() + caixasEspeciais.size());
+    long orientacoesTestadas = 0;
+    for (CaixaEspacial aberta : abertas) {
+      caixasUtilizadas.add(aberta.reduzir(catalogo));
+      orientacoesTestadas += aberta.orientacoesTestadas();
+    }
+    contexto.registrarOrientacoes(orientacoesTestadas);
+    caixasUtilizadas.addAll(caixasEspeciais);
+    return ResultadoEmpacotamento.completo(caixasUtilizadas, false);
+  }
+
+  private static final class CaixaEspacial {
+    private final TipoCaixa tipoCaixa;
+    private final PontosExtremos pontos;
+    private final List<Produto> produtos = new ArrayList<>();
+    private final List<Posicao> posicoes = new ArrayList<>();
+    // testes feitos nos tipos menores durante a redução
+    private long orientacoesReducao;
+
+    CaixaEspacial(TipoCaixa tipoCaixa) {
+      this.tipoCaixa = tipoCaixa;
+      this.pontos = new PontosExtremos(tipoCaixa.getDimensoes());
+    }
+
+    boolean posicionar(Produto produto) {
+      Posicao posicao = pontos.posicionar(produto.getDimensoes());
+      if (posicao == null) {
+        return false;
+      }
+      produtos.add(produto);
+      posicoes.add(posicao);
+      return true;
+    }
+
+    Caixa reduzir(CatalogoCaixas catalogo) {
+      for (TipoCaixa candidato : catalogo.getTipos()) {
+        if (candidato.getVolume() >= tipoCaixa.getVolume()) {
+          break;
+        }
+        List<Posicao> reposicionados = reposicionar(candidato);
+        if (reposicionados != null) {
+          return Encaixe.novaCaixa(candidato, produtos, reposicionados);
+        }
+      }
+      return Encaixe.novaCaixa(tipoCaixa, produtos, posicoes);
+    }
+
+    // Posições de todo o conteúdo num tipo menor, ou null se algum produto não couber.
+    private List<Posicao> reposicionar(TipoCaixa candidato) {
+      PontosExtremos teste = new PontosExtremos(candidato.getDimensoes());
+      List<Posicao> reposicionados = new ArrayList<>(produtos.size());
+      for (Produto produto : produtos) {
+        Posicao posicao = teste.posicionar(produto.getDimensoes());
+        if (posicao == null) {
+          break;
+        }
+        reposicionados.add(posicao);
+      }
+      orientacoesReducao += teste.getOrientacoesTestadas();
+      return reposicionados.size() == produtos.size() ? reposicionados : null;
+    }
+
+    long orientacoesTestadas() {
+      return pontos.getOrientacoesTestadas() + orientacoesReducao;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.JobDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.StatusJob;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.JobsEmbalagemService;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Lotes processados fora da thread HTTP. Os jobs rodam no executor limitado de ExecutorConfig, cuja
+// fila cheia rejeita a submissão. Enquanto pendentes ou em execução ficam num mapa, limitado pelas
+// threads e pela fila do executor, e só ao terminar passam para o cache de resultados, de modo que
+// um job vivo nunca é descartado e o tempo de vida conta a partir da conclusão.
+@Service
+public class JobsEmbalagemServiceImpl implements JobsEmbalagemService {
+  private static final Logger log = LoggerFactory.getLogger(JobsEmbalagemServiceImpl.class);
+
+  private final EmbalagensServiceImpl embalagensService;
+  private final ThreadPoolExecutor executorJobs;
+  private final Map<String, Job> ativos = new ConcurrentHashMap<>();
+  private final Cache<String, Job> terminados;
+
+  @Autowired
+  public JobsEmbalagemServiceImpl(
+      EmbalagensServiceImpl embalagensService,
+      ThreadPoolExecutor executorJobs,
+      EmbalagemProperties properties) {
+    this.embalagensService = embalagensService;
+    this.executorJobs = executorJobs;
+    this.terminados = Caches.construir(properties.getJobs().getResultados());
+    if (terminados == null) {
+      throw new IllegalArgumentException(
+          "embalagem.jobs.resultados.max-entradas deve ser maior que zero");
+    }
+  }
+
+  @Override
+  public JobDTO submeter(List<PedidoDTO> pedidosDTO, TipoEstrategia estrategia) {
+    List<PedidoDTO> pedidos = pedidosDTO != null ? pedidosDTO : Collections.emptyList();
+    Job job = new Job(UUID.randomUUID().toString(), pedidos.size());
+    ativos.put(job.id, job);
+    try {
+      executorJobs.execute(() -> executar(job, pedidos, estrategia));
+    } catch (RuntimeException e) {
+      ativos.remove(job.id);
+      throw e;
+    }
+    log.info("Job {} enfileirado com {} pedido(s)", job.id, pedidos.size());
+    return job.paraDTO();
+  }
+
+  @Override
+  public Optional<JobDTO> consultar(String id) {
+    return buscar(id).map(Job::paraDTO);
+  }
+
+  @Override
+  public Optional<ResponseDTO> resultado(String id) {
+    return buscar(id).map(job -> job.resultado);
+  }
+
+  private Optional<Job> buscar(String id) {
+    Job job = ativos.get(id);
+    return Optional.ofNullable(job != null ? job : terminados.getIfPresent(id));
+  }
+
+  private void executar(Job job, List<PedidoDTO> pedidos, TipoEstrategia estrategia) {
+    job.status = StatusJob.EXECUTANDO;
+    try {
+      job.resultado =
+          embalagensService.processarPedidos(pedidos, estrategia, job.concluidos::incrementAndGet);
+      job.status = StatusJob.CONCLUIDO;
+    } catch (RuntimeException e) {
+      log.error("Falha no job {}", job.id, e);
+      job.erro = e.getMessage();
+      job.status = StatusJob.FALHOU;
+    }
+    // entra nos terminados antes de sair dos ativos, para que a consulta nunca fique sem ele
+    terminados.put(job.id, job);
+    ativos.remove(job.id);
+  }
+
+  private static final class Job {
+    private final String id;
+    private final int total;
+    private final Instant criadoEm = Instant.now();
+    private final AtomicInteger concluidos = new AtomicInteger();
+    private volatile StatusJob status = StatusJob.PENDENTE;
+    private volatile ResponseDTO resultado;
+    private volatile String erro;
+
+    private Job(String id, int total) {
+      this.id = id;
+      this.total = total;
+    }
+
+    private JobDTO paraDTO() {
+      return new JobDTO(id, status, concluidos.get(), total, criadoEm, erro);
+    }
+  }
+}
@@ -0,0 +1,131 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+// Métricas por pedido. Todos os medidores são registrados na construção, um por estratégia (e por
+// faixa de tamanho, no timer), de modo que registrar um pedido é só indexar arrays e somar: nada é
+// alocado por pedido nem por candidato. As estratégias acumulam as contagens no ContextoBusca, que
+// é lido uma vez ao final do pedido.
+@Component
+public class MetricasEmpacotamento {
+
+  // limites superiores das faixas de quantidade de produtos; a última faixa é aberta
+  private static final int[] LIMITES_FAIXAS = {1, 5, 10, 20, 40};
+  private static final String[] FAIXAS = {"1", "2-5", "6-10", "11-20", "21-40", "41+"};
+
+  private final Timer[][] duracao;
+  private final Counter[] nosExplorados;
+  private final Counter[] orientacoesTestadas;
+  private final Counter[] caixasEspeciais;
+  private final Counter[] prazosEsgotados;
+  private final Counter[] acertosCache;
+  // os medidores do Micrometer não podem ser zerados, então o aquecimento suspende o registro
+  private volatile boolean suspensas;
+
+  public MetricasEmpacotamento(MeterRegistry registry) {
+    TipoEstrategia[] tipos = TipoEstrategia.values();
+    duracao = new Timer[tipos.length][FAIXAS.length];
+    nosExplorados = new Counter[tipos.length];
+    orientacoesTestadas = new Counter[tipos.length];
+    caixasEspeciais = new Counter[tipos.length];
+    prazosEsgotados = new Counter[tipos.length];
+    acertosCache = new Counter[tipos.length];
+    for (TipoEstrategia tipo : tipos) {
+      String estrategia = tipo.name().toLowerCase(Locale.ROOT).replace('_', '-');
+      int t = tipo.ordinal();
+      for (int f = 0; f < FAIXAS.length; f++) {
+        duracao[t][f] =
+            Timer.builder("embalagem.pedido.duracao")
+                .description("Tempo de empacotamento de um pedido")
+                .tag("estrategia", estrategia)
+                .tag("produtos", FAIXAS[f])
+                .publishPercentileHistogram()
+                .register(registry);
+      }
+      nosExplorados[t] =
+          contador(registry, "embalagem.busca.nos", "Grupos candidatos avaliados", estrategia);
+      orientacoesTestadas[t] =
+          contador(
+              registry,
+              "embalagem.busca.orientacoes",
+              "Orientações de produto testadas em posições livres",
+              estrategia);
+      caixasEspeciais[t] =
+          contador(
+              registry,
+              "embalagem.caixas.especiais",
+              "Produtos que não couberam em nenhuma caixa do catálogo",
+              estrategia);
+      prazosEsgotados[t] =
+          contador(
+              registry,
+              "embalagem.pedido.prazo.esgotado",
+              "Pedidos completados pela estratégia de reserva",
+              estrategia);
+      acertosCache[t] =
+          contador(
+              registry,
+              "embalagem.pedido.cache.acertos",
+              "Pedidos respondidos pelo cache de pedidos",
+              estrategia);
+    }
+  }
+
+  void registrar(
+      TipoEstrategia tipo,
+      int produtos,
+      long duracaoNanos,
+      ContextoBusca contexto,
+      int especiais,
+      boolean doCache) {
+    if (suspensas) {
+      return;
+    }
+    int t = tipo.ordinal();
+    duracao[t][faixa(produtos)].record(duracaoNanos, TimeUnit.NANOSECONDS);
+    if (doCache) {
+      acertosCache[t].increment();
+    }
+    // num acerto do cache o contexto não registrou nada
+    nosExplorados[t].increment(contexto.getNosExplorados());
+    orientacoesTestadas[t].increment(contexto.getOrientacoesTestadas());
+    if (especiais > 0) {
+      caixasEspeciais[t].increment(especiais);
+    }
+    if (contexto.isEsgotado()) {
+      prazosEsgotados[t].increment();
+    }
+  }
+
+  void suspender() {
+    suspensas = true;
+  }
+
+  void retomar() {
+    suspensas = false;
+  }
+
+  private static int faixa(int produtos) {
+    for (int f = 0; f < LIMITES_FAIXAS.length; f++) {
+      if (produtos <= LIMITES_FAIXAS[f]) {
+        return f;
+      }
+    }
+    return LIMITES_FAIXAS.length;
+  }
+
+  private static Counter contador(
+      MeterRegistry registry, String nome, String descricao, String estrategia) {
+    return Counter.builder(nome)
+        .description(descricao)
+        .tag("estrategia", estrategia)
+        .register(registry);
+  }
+}
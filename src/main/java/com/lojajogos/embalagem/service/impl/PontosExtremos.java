@@ -0,0 +1,113 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Posicao;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Posicionamento 3D dentro de uma caixa por pontos extremos: cada produto é colocado no primeiro
+// ponto (de baixo para cima, do fundo para a frente) em que alguma de suas orientações cabe sem
+// sobrepor os já posicionados, e os cantos do produto viram novos pontos candidatos.
+// Coordenadas: x ao longo do comprimento, y da largura e z da altura da caixa.
+final class PontosExtremos {
+
+  private static final Comparator<int[]> ORDEM_PONTOS =
+      Comparator.<int[]>comparingInt(p -> p[2])
+          .thenComparingInt(p -> p[1])
+          .thenComparingInt(p -> p[0]);
+
+  private final int comprimento;
+  private final int largura;
+  private final int altura;
+  private final List<int[]> pontos = new ArrayList<>();
+  private final List<int[]> ocupados = new ArrayList<>();
+  private long orientacoesTestadas;
+
+  PontosExtremos(Dimensao caixa) {
+    this.comprimento = caixa.getComprimento();
+    this.largura = caixa.getLargura();
+    this.altura = caixa.getAltura();
+    pontos.add(new int[] {0, 0, 0});
+  }
+
+  // Posição em que o produto foi colocado, ou null se não coube.
+  Posicao posicionar(Dimensao dim) {
+    int[][] orientacoes = orientacoes(dim);
+    for (int i = 0; i < pontos.size(); i++) {
+      int[] ponto = pontos.get(i);
+      for (int[] orientacao : orientacoes) {
+        orientacoesTestadas++;
+        if (cabe(ponto, orientacao)) {
+          ocupar(i, ponto, orientacao);
+          return new Posicao(
+              ponto[0], ponto[1], ponto[2], orientacao[0], orientacao[1], orientacao[2]);
+        }
+      }
+    }
+    return null;
+  }
+
+  long getOrientacoesTestadas() {
+    return orientacoesTestadas;
+  }
+
+  private boolean cabe(int[] ponto, int[] orientacao) {
+    if (ponto[0] + orientacao[0] > comprimento
+        || ponto[1] + orientacao[1] > largura
+        || ponto[2] + orientacao[2] > altura) {
+      return false;
+    }
+    for (int[] ocupado : ocupados) {
+      if (ponto[0] < ocupado[0] + ocupado[3]
+          && ocupado[0] < ponto[0] + orientacao[0]
+          && ponto[1] < ocupado[1] + ocupado[4]
+          && ocupado[1] < ponto[1] + orientacao[1]
+          && ponto[2] < ocupado[2] + ocupado[5]
+          && ocupado[2] < ponto[2] + orientacao[2]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void ocupar(int indicePonto, int[] ponto, int[] orientacao) {
+    ocupados.add(
+        new int[] {ponto[0], ponto[1], ponto[2], orientacao[0], orientacao[1], orientacao[2]});
+    pontos.remove(indicePonto);
+    adicionarPonto(ponto[0] + orientacao[0], ponto[1], ponto[2]);
+    adicionarPonto(ponto[0], ponto[1] + orientacao[1], ponto[2]);
+    adicionarPonto(ponto[0], ponto[1], ponto[2] + orientacao[2]);
+    pontos.sort(ORDEM_PONTOS);
+  }
+
+  private void adicionarPonto(int x, int y, int z) {
+    if (x < comprimento && y < largura && z < altura) {
+      pontos.add(new int[] {x, y, z});
+    }
+  }
+
+  // Orientações distintas do produto como {x, y, z}; faces quadradas e cubos geram menos rotações.
+  private static int[][] orientacoes(Dimensao dim) {
+    int a = dim.getAltura();
+    int b = dim.getLargura();
+    int c = dim.getComprimento();
+    int[][] todas = {{c, b, a}, {b, c, a}, {c, a, b}, {a, c, b}, {b, a, c}, {a, b, c}};
+    List<int[]> distintas = new ArrayList<>(todas.length);
+    for (int[] orientacao : todas) {
+      boolean repetida = false;
+      for (int[] existente : distintas) {
+        if (existente[0] == orientacao[0]
+            && existente[1] == orientacao[1]
+            && existente[2] == orientacao[2]) {
+          repetida = true;
+          break;
+        }
+      }
+      if (!repetida) {
+        distintas.add(orientacao);
+      }
+    }
+    return distintas.toArray(new int[0][]);
+  }
+}
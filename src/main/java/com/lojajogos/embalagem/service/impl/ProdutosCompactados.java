@@ -0,0 +1,64 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.List;
+
+// Medidas ordenadas (maior, média, menor) dos produtos de um pedido em arrays primitivos, montadas
+// uma vez por pedido. A busca referencia os produtos pela posição nesses arrays e só volta aos
+// objetos Produto ao montar as caixas.
+final class ProdutosCompactados {
+
+  private final List<Produto> produtos;
+  private final int[] maior;
+  private final int[] medio;
+  private final int[] menor;
+  private final long[] volume;
+
+  ProdutosCompactados(List<Produto> produtos) {
+    int n = produtos.size();
+    this.produtos = produtos;
+    this.maior = new int[n];
+    this.medio = new int[n];
+    this.menor = new int[n];
+    this.volume = new long[n];
+    for (int i = 0; i < n; i++) {
+      Dimensao dim = produtos.get(i).getDimensoes();
+      maior[i] = dim.getMaior();
+      medio[i] = dim.getMedio();
+      menor[i] = dim.getMenor();
+      volume[i] = dim.getVolume();
+    }
+  }
+
+  int tamanho() {
+    return produtos.size();
+  }
+
+  Produto produto(int posicao) {
+    return produtos.get(posicao);
+  }
+
+  int maior(int posicao) {
+    return maior[posicao];
+  }
+
+  int medio(int posicao) {
+    return medio[posicao];
+  }
+
+  int menor(int posicao) {
+    return menor[posicao];
+  }
+
+  long volume(int posicao) {
+    return volume[posicao];
+  }
+
+  boolean cabeSozinho(int posicao, TipoCaixa caixa) {
+    return maior[posicao] <= caixa.getMaior()
+        && medio[posicao] <= caixa.getMedio()
+        && menor[posicao] <= caixa.getMenor();
+  }
+}
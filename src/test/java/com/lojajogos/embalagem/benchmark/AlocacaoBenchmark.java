@@ -0,0 +1,83 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CatalogoServiceImpl;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Alocação da busca exaustiva por pedido, para rodar com o profiler de GC:
+// -Djmh.args="AlocacaoBenchmark -prof gc" (métrica gc.alloc.rate.norm, em bytes por operação).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlocacaoBenchmark {
+
+  @Param({"8", "14", "18"})
+  private int produtos;
+
+  private ForkJoinPool pool;
+  private EstrategiaExaustiva exaustiva;
+  private Pedido pedido;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    pool = new ForkJoinPool(1);
+    exaustiva =
+        new EstrategiaExaustiva(
+            pool,
+            properties,
+            new CacheEncaixe(properties),
+            new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {}));
+
+    // produtos que não cabem todos juntos, para que cada rodada percorra vários tamanhos de grupo
+    Random random = new Random(42);
+    List<Produto> itens = new ArrayList<>();
+    for (int i = 0; i < produtos; i++) {
+      itens.add(
+          new Produto(
+              "P" + i,
+              new Dimensao(
+                  15 + random.nextInt(20), 15 + random.nextInt(20), 15 + random.nextInt(20))));
+    }
+    pedido = new Pedido(1, itens);
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public ResultadoEmpacotamento exaustiva() {
+    return exaustiva.empacotar(pedido, ContextoBusca.semPrazo());
+  }
+}
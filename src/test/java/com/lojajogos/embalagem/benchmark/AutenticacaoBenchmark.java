@@ -0,0 +1,83 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.config.PasswordEncoderComCache;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationConverter;
+
+// Trabalho de autenticação de uma requisição HTTP Basic sem sessão, como o
+// BasicAuthenticationFilter faz: decodificar o cabeçalho e verificar usuário e senha. Com uma única
+// thread, a vazão é o número de requisições autenticadas por núcleo e por segundo, com e sem o
+// cache de credenciais.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(1)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+  @Param({"false", "true"})
+  private boolean cacheCredenciais;
+
+  private final BasicAuthenticationConverter conversor = new BasicAuthenticationConverter();
+  private AuthenticationManager autenticador;
+  private MockHttpServletRequest requisicao;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties.Cache configuracao =
+        new EmbalagemProperties.Cache(cacheCredenciais ? 1_000 : 0, Duration.ofMinutes(5));
+    // mesmo custo do BCryptPasswordEncoder padrão de SecurityConfig
+    PasswordEncoder encoder =
+        new PasswordEncoderComCache(new BCryptPasswordEncoder(), configuracao);
+    DaoAuthenticationProvider provedor = new DaoAuthenticationProvider();
+    provedor.setPasswordEncoder(encoder);
+    provedor.setUserDetailsService(
+        new InMemoryUserDetailsManager(
+            User.builder()
+                .username("admin")
+                .password(encoder.encode("admin"))
+                .roles("ADMIN")
+                .build()));
+    autenticador = new ProviderManager(provedor);
+
+    requisicao = new MockHttpServletRequest();
+    requisicao.addHeader(
+        HttpHeaders.AUTHORIZATION,
+        "Basic "
+            + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Benchmark
+  public Authentication autenticar() {
+    return autenticador.authenticate(conversor.convert(requisicao));
+  }
+}
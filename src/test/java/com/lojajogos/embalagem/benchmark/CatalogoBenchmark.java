@@ -0,0 +1,94 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CatalogoServiceImpl;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import com.lojajogos.embalagem.service.impl.EstrategiaFirstFitDecreasing;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Tempo de empacotamento de um mesmo pedido conforme cresce o catálogo de caixas. Metade dos tipos
+// extras é menor que qualquer produto: sem o filtro por caixa, cada um deles custaria uma busca
+// exponencial inteira por rodada; com ele, custa um teste por produto.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogoBenchmark {
+
+  @Param({"3", "6", "12", "24"})
+  private int tiposCaixa;
+
+  @Param({"12"})
+  private int produtos;
+
+  private ForkJoinPool pool;
+  private EstrategiaExaustiva exaustiva;
+  private EstrategiaFirstFitDecreasing firstFit;
+  private Pedido pedido;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    CatalogoServiceImpl catalogoService =
+        new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+    catalogoService.substituir(Cenarios.catalogo(catalogoService.atual().getTipos(), tiposCaixa));
+
+    pool = new ForkJoinPool(1);
+    exaustiva =
+        new EstrategiaExaustiva(pool, properties, new CacheEncaixe(properties), catalogoService);
+    firstFit = new EstrategiaFirstFitDecreasing(catalogoService);
+
+    Random random = new Random(42);
+    List<Produto> itens = new ArrayList<>();
+    for (int i = 0; i < produtos; i++) {
+      itens.add(
+          new Produto(
+              "P" + i,
+              new Dimensao(
+                  10 + random.nextInt(25), 10 + random.nextInt(25), 10 + random.nextInt(25))));
+    }
+    pedido = new Pedido(1, itens);
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public ResultadoEmpacotamento exaustiva() {
+    return exaustiva.empacotar(pedido, ContextoBusca.semPrazo());
+  }
+
+  @Benchmark
+  public ResultadoEmpacotamento firstFitDecreasing() {
+    return firstFit.empacotar(pedido, ContextoBusca.semPrazo());
+  }
+}
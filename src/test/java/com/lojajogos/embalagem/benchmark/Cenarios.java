@@ -0,0 +1,154 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.request.DimensaoDTO;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.request.ProdutoDTO;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CachePedidos;
+import com.lojajogos.embalagem.service.impl.CatalogoServiceImpl;
+import com.lojajogos.embalagem.service.impl.EmpacotamentoServiceImpl;
+import com.lojajogos.embalagem.service.impl.EstrategiaBestFitDecreasing;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import com.lojajogos.embalagem.service.impl.EstrategiaFirstFitDecreasing;
+import com.lojajogos.embalagem.service.impl.EstrategiaOtimizada;
+import com.lojajogos.embalagem.service.impl.EstrategiaPontosExtremos;
+import com.lojajogos.embalagem.service.impl.MetricasEmpacotamento;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+// Pedidos e catálogos sintéticos compartilhados pelos benchmarks. Tudo é gerado com sementes fixas
+// para que os resultados de commits diferentes sejam comparáveis.
+public final class Cenarios {
+
+  // Distribuição das medidas dos produtos, relativa ao catálogo padrão (maior caixa 50x80x60).
+  public enum Distribuicao {
+    // cada eixo entre 5 e 60
+    UNIFORME,
+    // cada eixo entre 1 e 5: muitos produtos por caixa
+    MINUSCULOS,
+    // um pouco menores que uma das caixas do catálogo: um produto por caixa
+    QUASE_CAIXA,
+    // um eixo maior que qualquer caixa: todos vão para caixas especiais
+    GRANDES,
+    // sorteados entre as quatro medidas de POUCOS_SKUS: muitos produtos iguais
+    POUCOS_SKUS
+  }
+
+  // Controle, jogo, headset e console.
+  private static final List<Dimensao> POUCOS_SKUS =
+      List.of(
+          new Dimensao(6, 16, 11),
+          new Dimensao(2, 19, 14),
+          new Dimensao(20, 18, 9),
+          new Dimensao(10, 30, 26));
+
+  private static final List<TipoCaixa> CATALOGO_PADRAO =
+      new CatalogoServiceImpl(new EmbalagemProperties(), new ObjectMapper(), evento -> {})
+          .atual()
+          .getTipos();
+
+  private Cenarios() {}
+
+  public static Pedido pedido(int id, int quantidade, Distribuicao distribuicao, long semente) {
+    Random random = new Random(semente);
+    List<Produto> produtos = new ArrayList<>(quantidade);
+    for (int i = 0; i < quantidade; i++) {
+      produtos.add(new Produto("P" + i, dimensao(distribuicao, random)));
+    }
+    return new Pedido(id, produtos);
+  }
+
+  public static List<TipoCaixa> catalogoPadrao() {
+    return CATALOGO_PADRAO;
+  }
+
+  public static PedidoDTO pedidoDTO(Pedido pedido) {
+    List<ProdutoDTO> produtos = new ArrayList<>(pedido.getProdutos().size());
+    for (Produto produto : pedido.getProdutos()) {
+      Dimensao dim = produto.getDimensoes();
+      produtos.add(
+          new ProdutoDTO(
+              produto.getId(),
+              new DimensaoDTO(dim.getAltura(), dim.getLargura(), dim.getComprimento())));
+    }
+    return new PedidoDTO(pedido.getId(), produtos);
+  }
+
+  // Catálogo padrão acrescido de tipos aleatórios até "tamanho". Metade dos tipos extras é menor
+  // que qualquer produto usual e a outra metade tem medidas até 90.
+  public static List<TipoCaixa> catalogo(List<TipoCaixa> base, int tamanho) {
+    List<TipoCaixa> tipos = new ArrayList<>(base);
+    Random random = new Random(7);
+    for (int i = tipos.size(); i < tamanho; i++) {
+      int limite = i % 2 == 0 ? 8 : 90;
+      tipos.add(
+          new TipoCaixa(
+              "Extra " + i,
+              new Dimensao(
+                  2 + random.nextInt(limite),
+                  2 + random.nextInt(limite),
+                  2 + random.nextInt(limite)),
+              BigDecimal.ONE));
+    }
+    return tipos;
+  }
+
+  // Serviço de empacotamento com todas as estratégias e um catálogo de "tiposCaixa" tipos. Os
+  // caches vêm de "properties"; os benchmarks costumam desativá-los para medir a busca em si.
+  public static EmpacotamentoServiceImpl empacotamento(
+      EmbalagemProperties properties, int tiposCaixa, ForkJoinPool pool) {
+    CatalogoServiceImpl catalogoService =
+        new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+    catalogoService.substituir(catalogo(catalogoService.atual().getTipos(), tiposCaixa));
+    EstrategiaFirstFitDecreasing firstFit = new EstrategiaFirstFitDecreasing(catalogoService);
+    return new EmpacotamentoServiceImpl(
+        Arrays.asList(
+            new EstrategiaExaustiva(
+                pool, properties, new CacheEncaixe(properties), catalogoService),
+            firstFit,
+            new EstrategiaBestFitDecreasing(catalogoService),
+            new EstrategiaPontosExtremos(catalogoService),
+            new EstrategiaOtimizada(properties, catalogoService, firstFit)),
+        properties,
+        new CachePedidos(properties),
+        new MetricasEmpacotamento(new SimpleMeterRegistry()));
+  }
+
+  public static EmbalagemProperties semCaches() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    properties.getCachePedidos().setMaxEntradas(0);
+    return properties;
+  }
+
+  private static Dimensao dimensao(Distribuicao distribuicao, Random random) {
+    switch (distribuicao) {
+      case MINUSCULOS:
+        return new Dimensao(1 + random.nextInt(5), 1 + random.nextInt(5), 1 + random.nextInt(5));
+      case QUASE_CAIXA:
+        Dimensao caixa = CATALOGO_PADRAO.get(random.nextInt(CATALOGO_PADRAO.size())).getDimensoes();
+        return new Dimensao(
+            caixa.getAltura() - 1 - random.nextInt(5),
+            caixa.getLargura() - 1 - random.nextInt(5),
+            caixa.getComprimento() - 1 - random.nextInt(5));
+      case GRANDES:
+        return new Dimensao(
+            10 + random.nextInt(30), 10 + random.nextInt(30), 81 + random.nextInt(40));
+      case POUCOS_SKUS:
+        return POUCOS_SKUS.get(random.nextInt(POUCOS_SKUS.size()));
+      default:
+        return new Dimensao(5 + random.nextInt(56), 5 + random.nextInt(56), 5 + random.nextInt(56));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.config.ExecutorConfig;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.service.impl.EmbalagensServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+// Muitas requisições simultâneas com lotes mistos: nove em cada dez são um pedido pequeno e a
+// décima é um lote de pedidos grandes. O modo SampleTime dá a vazão e os percentis (p0.99) de cada
+// requisição. "threads" escolhe onde rodam os pedidos dos lotes: nas threads de plataforma
+// compartilhadas, como no perfil padrão, ou em threads virtuais, como no perfil "virtual"; este
+// último exige compilar e rodar com Java 21 (mvn -Pjava21).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ConcorrenciaBenchmark {
+
+  public enum TipoThreads {
+    PLATAFORMA,
+    VIRTUAL
+  }
+
+  @Param({"PLATAFORMA", "VIRTUAL"})
+  private TipoThreads threads;
+
+  private ForkJoinPool pool;
+  private Executor executorPedidos;
+  private EmbalagensServiceImpl embalagens;
+  private final List<List<PedidoDTO>> requisicoes = new ArrayList<>();
+  private final AtomicInteger proxima = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties properties = Cenarios.semCaches();
+    pool = new ForkJoinPool(properties.getParalelismo().threadsEfetivas());
+    // o mesmo executor que ExecutorConfig monta em cada perfil
+    executorPedidos =
+        new ExecutorConfig()
+            .executorPedidos(
+                properties,
+                new MockEnvironment()
+                    .withProperty(
+                        "spring.threads.virtual.enabled",
+                        String.valueOf(threads == TipoThreads.VIRTUAL)));
+    embalagens =
+        new EmbalagensServiceImpl(
+            Cenarios.empacotamento(properties, 3, pool),
+            executorPedidos,
+            properties,
+            new ObjectMapper());
+    int semente = 1;
+    for (int r = 0; r < 10; r++) {
+      List<PedidoDTO> lote = new ArrayList<>();
+      int pedidos = r == 9 ? 8 : 1;
+      int itens = r == 9 ? 14 : 4;
+      for (int p = 0; p < pedidos; p++) {
+        lote.add(
+            Cenarios.pedidoDTO(
+                Cenarios.pedido(semente, itens, Cenarios.Distribuicao.UNIFORME, semente++)));
+      }
+      requisicoes.add(lote);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    if (executorPedidos instanceof ExecutorService) {
+      ((ExecutorService) executorPedidos).shutdownNow();
+    }
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public ResponseDTO requisicao() {
+    List<PedidoDTO> lote = requisicoes.get(Math.floorMod(proxima.getAndIncrement(), 10));
+    return embalagens.processarPedidos(lote);
+  }
+}
@@ -0,0 +1,67 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.impl.EmpacotamentoServiceImpl;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// EmpacotamentoServiceImpl.processar para um pedido, variando tamanho, distribuição das medidas e
+// tamanho do catálogo. Os caches ficam desativados para que toda operação refaça o empacotamento;
+// o prazo é o padrão, então pedidos grandes medem também a conclusão pela estratégia de reserva.
+// Outras estratégias: -Djmh.args="EmpacotamentoBenchmark -p estrategia=FIRST_FIT_DECREASING".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmpacotamentoBenchmark {
+
+  @Param({"1", "5", "10", "20", "40"})
+  private int itens;
+
+  @Param({"UNIFORME", "MINUSCULOS", "QUASE_CAIXA", "GRANDES", "POUCOS_SKUS"})
+  private Cenarios.Distribuicao distribuicao;
+
+  @Param({"3", "12"})
+  private int tiposCaixa;
+
+  @Param({"EXAUSTIVA"})
+  private TipoEstrategia estrategia;
+
+  private ForkJoinPool pool;
+  private EmpacotamentoServiceImpl empacotamento;
+  private Pedido pedido;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    empacotamento = Cenarios.empacotamento(Cenarios.semCaches(), tiposCaixa, pool);
+    pedido = Cenarios.pedido(1, itens, distribuicao, 42);
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public PedidoResponseDTO processar() {
+    return empacotamento.processar(pedido, estrategia);
+  }
+}
@@ -0,0 +1,241 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Um pod recém-criado: cada iteração sobe um processo novo da aplicação empacotada (mvn package
+// antes), espera /actuator/health/readiness e envia PRIMEIRAS requisições a POST
+// /api/v1/embalagens, uma de cada vez. O resultado é o tempo somado dessas requisições; ao fim de
+// cada iteração são impressos o tempo até a prontidão, até a primeira resposta (ambos a partir do
+// lançamento do processo) e os percentis de latência. No modo CDS, o layout de docker/extrair.sh e
+// o arquivo app.jsa são gerados em target/cds na primeira execução, como no Dockerfile.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3, batchSize = InicializacaoBenchmark.PRIMEIRAS)
+@Fork(1)
+public class InicializacaoBenchmark {
+
+  static final int PRIMEIRAS = 1_000;
+
+  private static final Path JAR = Path.of("target", "embalagens-api-0.0.1-SNAPSHOT.jar");
+  private static final Path DIRETORIO_CDS = Path.of("target", "cds");
+  private static final Path LOG = Path.of("target", "inicializacao.log");
+  private static final String CREDENCIAIS =
+      "Basic " + Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+
+  public enum Modo {
+    // java -jar com o jar executável, como o Dockerfile fazia antes do CDS
+    JAR,
+    // classpath desmontado e arquivo CDS, como o Dockerfile atual
+    CDS
+  }
+
+  @Param({"JAR", "CDS"})
+  private Modo modo;
+
+  @Param({"false", "true"})
+  private boolean aquecimento;
+
+  private final HttpClient cliente = HttpClient.newHttpClient();
+  private List<String> corpos;
+  private Process processo;
+  private URI api;
+  private long lancamento;
+  private long prontoNanos;
+  private long primeiraNanos;
+  private long[] latencias;
+  private int enviadas;
+
+  @Setup(Level.Trial)
+  public void preparar() throws Exception {
+    if (!Files.exists(JAR)) {
+      throw new IllegalStateException(JAR + " não encontrado; rode mvn package antes");
+    }
+    // pedidos distintos, para que o cache de pedidos não responda no lugar do empacotamento
+    ObjectMapper objectMapper = new ObjectMapper();
+    corpos = new ArrayList<>(PRIMEIRAS);
+    for (int i = 1; i <= PRIMEIRAS; i++) {
+      corpos.add(
+          objectMapper.writeValueAsString(
+              Map.of(
+                  "pedidos",
+                  List.of(
+                      Cenarios.pedidoDTO(
+                          Cenarios.pedido(i, 1 + i % 15, Cenarios.Distribuicao.UNIFORME, i))))));
+    }
+    if (modo == Modo.CDS) {
+      prepararCds();
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void iniciar() throws Exception {
+    int porta;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      porta = socket.getLocalPort();
+    }
+    List<String> comando = new ArrayList<>();
+    comando.add(java());
+    Path diretorio;
+    if (modo == Modo.CDS) {
+      comando.addAll(Arrays.asList("-XX:SharedArchiveFile=app.jsa", "@java.args"));
+      diretorio = DIRETORIO_CDS;
+    } else {
+      comando.addAll(Arrays.asList("-jar", JAR.toAbsolutePath().toString()));
+      diretorio = Path.of(".");
+    }
+    comando.add("--server.port=" + porta);
+    comando.add("--embalagem.aquecimento.habilitado=" + aquecimento);
+    api = URI.create("http://localhost:" + porta + "/api/v1/embalagens");
+
+    latencias = new long[PRIMEIRAS];
+    enviadas = 0;
+    lancamento = System.nanoTime();
+    processo =
+        new ProcessBuilder(comando)
+            .directory(diretorio.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(LOG.toFile()))
+            .start();
+    aguardarProntidao(URI.create("http://localhost:" + porta + "/actuator/health/readiness"));
+    prontoNanos = System.nanoTime() - lancamento;
+  }
+
+  @TearDown(Level.Iteration)
+  public void encerrar() throws InterruptedException {
+    processo.destroy();
+    processo.waitFor();
+    long[] ordenadas = Arrays.copyOf(latencias, enviadas);
+    Arrays.sort(ordenadas);
+    System.out.printf(
+        "%n%s, aquecimento %s: pronto em %d ms, primeira resposta em %d ms; "
+            + "%d requisições: média %.2f ms, p50 %.2f ms, p99 %.2f ms, máximo %.2f ms%n",
+        modo,
+        aquecimento,
+        prontoNanos / 1_000_000,
+        primeiraNanos / 1_000_000,
+        enviadas,
+        Arrays.stream(ordenadas).average().orElse(0) / 1e6,
+        percentil(ordenadas, 0.50),
+        percentil(ordenadas, 0.99),
+        percentil(ordenadas, 1.0));
+  }
+
+  @Benchmark
+  public int requisicao() throws Exception {
+    long inicio = System.nanoTime();
+    HttpResponse<String> resposta =
+        cliente.send(
+            HttpRequest.newBuilder(api)
+                .header("Authorization", CREDENCIAIS)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(corpos.get(enviadas % PRIMEIRAS)))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    long fim = System.nanoTime();
+    if (resposta.statusCode() != 200) {
+      throw new IllegalStateException("Resposta " + resposta.statusCode() + ": " + resposta.body());
+    }
+    if (enviadas == 0) {
+      primeiraNanos = fim - lancamento;
+    }
+    latencias[enviadas++] = fim - inicio;
+    return resposta.body().length();
+  }
+
+  private void aguardarProntidao(URI prontidao) throws Exception {
+    long prazo = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+    while (System.nanoTime() - prazo < 0) {
+      if (!processo.isAlive()) {
+        throw new IllegalStateException("A aplicação encerrou na inicialização; veja " + LOG);
+      }
+      try {
+        HttpResponse<Void> resposta =
+            cliente.send(
+                HttpRequest.newBuilder(prontidao).timeout(Duration.ofSeconds(1)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (resposta.statusCode() == 200) {
+          return;
+        }
+      } catch (ConnectException | HttpTimeoutException e) {
+        // porta ainda fechada, ou aplicação ocupada com o aquecimento
+      }
+      Thread.sleep(10);
+    }
+    throw new IllegalStateException("A aplicação não ficou pronta em 2 minutos; veja " + LOG);
+  }
+
+  // Desmonta o jar e faz a execução de treino só quando o jar mudou desde a última vez.
+  private static void prepararCds() throws IOException, InterruptedException {
+    Path arquivo = DIRETORIO_CDS.resolve("app.jsa");
+    if (Files.exists(arquivo)
+        && Files.getLastModifiedTime(arquivo).compareTo(Files.getLastModifiedTime(JAR)) > 0) {
+      return;
+    }
+    executar(Path.of("."), "sh", "docker/extrair.sh", JAR.toString(), DIRETORIO_CDS.toString());
+    executar(
+        DIRETORIO_CDS,
+        java(),
+        "-XX:ArchiveClassesAtExit=app.jsa",
+        "-Xlog:cds=error",
+        "-Dspring.context.exit=onRefresh",
+        "@java.args");
+  }
+
+  private static void executar(Path diretorio, String... comando)
+      throws IOException, InterruptedException {
+    Process processo =
+        new ProcessBuilder(comando)
+            .directory(diretorio.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(LOG.toFile()))
+            .start();
+    if (processo.waitFor() != 0) {
+      throw new IllegalStateException(String.join(" ", comando) + " falhou; veja " + LOG);
+    }
+  }
+
+  private static String java() {
+    return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+  }
+
+  private static double percentil(long[] ordenadas, double fracao) {
+    if (ordenadas.length == 0) {
+      return 0;
+    }
+    int indice = (int) Math.ceil(fracao * ordenadas.length) - 1;
+    return ordenadas[Math.max(0, indice)] / 1e6;
+  }
+}
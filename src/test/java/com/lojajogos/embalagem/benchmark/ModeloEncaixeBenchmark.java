@@ -0,0 +1,81 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.impl.EmpacotamentoServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Empilhamento em linha (busca exaustiva e first fit) contra o posicionamento 3D por pontos
+// extremos, em latência por pedido e em número de caixas. Cada operação empacota o próximo de
+// PEDIDOS pedidos fixos; o total de caixas de cada estratégia, que não depende do tempo, é impresso
+// ao final do trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeloEncaixeBenchmark {
+
+  private static final int PEDIDOS = 16;
+
+  @Param({"EXAUSTIVA", "FIRST_FIT_DECREASING", "PONTOS_EXTREMOS"})
+  private TipoEstrategia estrategia;
+
+  @Param({"20"})
+  private int itens;
+
+  @Param({"UNIFORME", "MINUSCULOS"})
+  private Cenarios.Distribuicao distribuicao;
+
+  private ForkJoinPool pool;
+  private EmpacotamentoServiceImpl empacotamento;
+  private List<Pedido> pedidos;
+  private int proximo;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    pool = new ForkJoinPool(1);
+    empacotamento = Cenarios.empacotamento(Cenarios.semCaches(), 3, pool);
+    pedidos = new ArrayList<>(PEDIDOS);
+    for (int i = 0; i < PEDIDOS; i++) {
+      pedidos.add(Cenarios.pedido(i + 1, itens, distribuicao, i));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    int caixas = 0;
+    for (Pedido pedido : pedidos) {
+      caixas += empacotamento.processar(pedido, estrategia).getCaixas().size();
+    }
+    System.out.printf(
+        "%n%s, %d itens, %s: %d caixas em %d pedidos%n",
+        estrategia, itens, distribuicao, caixas, PEDIDOS);
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public PedidoResponseDTO processar() {
+    Pedido pedido = pedidos.get(proximo);
+    proximo = (proximo + 1) % PEDIDOS;
+    return empacotamento.processar(pedido, estrategia);
+  }
+}
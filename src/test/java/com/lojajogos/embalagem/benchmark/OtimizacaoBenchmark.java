@@ -0,0 +1,115 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.response.CaixaDTO;
+import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.model.ObjetivoOtimizacao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.impl.EmpacotamentoServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Estratégia otimizada contra as gulosas, em latência por pedido e no valor do objetivo. Cada
+// operação empacota o próximo de PEDIDOS pedidos fixos; ao final do trial são impressos o total do
+// objetivo de cada estratégia e a melhora sobre o first fit decreasing nos mesmos pedidos.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OtimizacaoBenchmark {
+
+  private static final int PEDIDOS = 16;
+
+  @Param({"FIRST_FIT_DECREASING", "EXAUSTIVA", "OTIMIZADA"})
+  private TipoEstrategia estrategia;
+
+  @Param({"QUANTIDADE", "VOLUME", "CUSTO"})
+  private ObjetivoOtimizacao objetivo;
+
+  @Param({"10", "20"})
+  private int itens;
+
+  // orçamento de nós da busca otimizada; as demais estratégias o ignoram
+  @Param({"1000"})
+  private long maxNos;
+
+  private ForkJoinPool pool;
+  private EmpacotamentoServiceImpl empacotamento;
+  private List<Pedido> pedidos;
+  private int proximo;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties properties = Cenarios.semCaches();
+    properties.getOtimizacao().setObjetivo(objetivo);
+    properties.getOtimizacao().setMaxNos(maxNos);
+    pool = new ForkJoinPool(1);
+    empacotamento = Cenarios.empacotamento(properties, 3, pool);
+    pedidos = new ArrayList<>(PEDIDOS);
+    for (int i = 0; i < PEDIDOS; i++) {
+      pedidos.add(Cenarios.pedido(i + 1, itens, Cenarios.Distribuicao.UNIFORME, i));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    long total = total(estrategia);
+    long referencia = total(TipoEstrategia.FIRST_FIT_DECREASING);
+    System.out.printf(
+        "%n%s, %s, %d itens, max-nos %d: %d em %d pedidos (first fit decreasing: %d, melhora de"
+            + " %.1f%%)%n",
+        estrategia,
+        objetivo,
+        itens,
+        maxNos,
+        total,
+        PEDIDOS,
+        referencia,
+        100.0 * (referencia - total) / referencia);
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public PedidoResponseDTO processar() {
+    Pedido pedido = pedidos.get(proximo);
+    proximo = (proximo + 1) % PEDIDOS;
+    return empacotamento.processar(pedido, estrategia);
+  }
+
+  // Valor do objetivo somado sobre os pedidos; caixas especiais não entram.
+  private long total(TipoEstrategia tipo) {
+    Map<String, TipoCaixa> tipos =
+        Cenarios.catalogoPadrao().stream()
+            .collect(Collectors.toMap(TipoCaixa::getId, tipoCaixa -> tipoCaixa));
+    long total = 0;
+    for (Pedido pedido : pedidos) {
+      for (CaixaDTO caixa : empacotamento.processar(pedido, tipo).getCaixas()) {
+        if (caixa.getCaixa_id() != null) {
+          total += objetivo.custo(tipos.get(caixa.getCaixa_id()));
+        }
+      }
+    }
+    return total;
+  }
+}
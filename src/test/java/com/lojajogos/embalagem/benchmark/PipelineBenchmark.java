@@ -0,0 +1,82 @@
+package com.lojajogos.embalagem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.config.ExecutorConfig;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.service.impl.EmbalagensServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+
+// Requisição completa sem a camada HTTP: EmbalagensServiceImpl.processarPedidos recebendo os DTOs
+// de um lote, com conversão, empacotamento em paralelo e montagem da resposta. Cada pedido do lote
+// tem uma semente própria, então o cache de pedidos (desativado aqui) não mascara o trabalho.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+  @Param({"1", "50"})
+  private int pedidos;
+
+  @Param({"5", "15"})
+  private int itens;
+
+  @Param({"UNIFORME", "MINUSCULOS"})
+  private Cenarios.Distribuicao distribuicao;
+
+  private ForkJoinPool pool;
+  private ExecutorService executorPedidos;
+  private EmbalagensServiceImpl embalagens;
+  private List<PedidoDTO> lote;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    EmbalagemProperties properties = Cenarios.semCaches();
+    pool = new ForkJoinPool(properties.getParalelismo().threadsEfetivas());
+    executorPedidos =
+        (ExecutorService) new ExecutorConfig().executorPedidos(properties, new MockEnvironment());
+    embalagens =
+        new EmbalagensServiceImpl(
+            Cenarios.empacotamento(properties, 3, pool),
+            executorPedidos,
+            properties,
+            new ObjectMapper());
+    lote = new ArrayList<>(pedidos);
+    for (int i = 1; i <= pedidos; i++) {
+      lote.add(Cenarios.pedidoDTO(Cenarios.pedido(i, itens, distribuicao, i)));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void encerrar() {
+    executorPedidos.shutdownNow();
+    pool.shutdownNow();
+  }
+
+  @Benchmark
+  public ResponseDTO processarPedidos() {
+    return embalagens.processarPedidos(lote);
+  }
+}
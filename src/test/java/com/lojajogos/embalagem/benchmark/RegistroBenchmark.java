@@ -0,0 +1,110 @@
+package com.lojajogos.embalagem.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.service.impl.EmpacotamentoServiceImpl;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+// Vazão de pedidos pequenos com as duas configurações de log de logback-spring.xml: a padrão, com
+// o pacote da aplicação em DEBUG num appender síncrono, e a do perfil "prod", em INFO num appender
+// assíncrono. O appender escreve num arquivo temporário com flush a cada evento, como o console.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistroBenchmark {
+
+  public enum Configuracao {
+    PADRAO,
+    PRODUCAO
+  }
+
+  @Param({"PADRAO", "PRODUCAO"})
+  private Configuracao configuracao;
+
+  @Param({"5", "15"})
+  private int itens;
+
+  private LoggerContext contextoLog;
+  private File arquivo;
+  private ForkJoinPool pool;
+  private EmpacotamentoServiceImpl empacotamento;
+  private Pedido pedido;
+
+  @Setup(org.openjdk.jmh.annotations.Level.Trial)
+  public void preparar() throws IOException {
+    arquivo = File.createTempFile("registro-benchmark", ".log");
+    contextoLog = (LoggerContext) LoggerFactory.getILoggerFactory();
+    contextoLog.reset();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(contextoLog);
+    encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+    encoder.start();
+    FileAppender<ILoggingEvent> emArquivo = new FileAppender<>();
+    emArquivo.setContext(contextoLog);
+    emArquivo.setFile(arquivo.getAbsolutePath());
+    emArquivo.setEncoder(encoder);
+    emArquivo.start();
+
+    Appender<ILoggingEvent> appender = emArquivo;
+    if (configuracao == Configuracao.PRODUCAO) {
+      AsyncAppender assincrono = new AsyncAppender();
+      assincrono.setContext(contextoLog);
+      assincrono.setQueueSize(8192);
+      assincrono.setDiscardingThreshold(1638);
+      assincrono.setNeverBlock(true);
+      assincrono.addAppender(emArquivo);
+      assincrono.start();
+      appender = assincrono;
+    }
+    Logger raiz = contextoLog.getLogger(Logger.ROOT_LOGGER_NAME);
+    raiz.setLevel(Level.INFO);
+    raiz.addAppender(appender);
+    contextoLog
+        .getLogger("com.lojajogos.embalagem")
+        .setLevel(configuracao == Configuracao.PRODUCAO ? Level.INFO : Level.DEBUG);
+
+    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    empacotamento = Cenarios.empacotamento(Cenarios.semCaches(), 3, pool);
+    pedido = Cenarios.pedido(1, itens, Cenarios.Distribuicao.UNIFORME, 42);
+  }
+
+  @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+  public void encerrar() {
+    pool.shutdownNow();
+    contextoLog.stop();
+    arquivo.delete();
+  }
+
+  @Benchmark
+  public PedidoResponseDTO processar() {
+    return empacotamento.processar(pedido);
+  }
+}
@@ -0,0 +1,71 @@
+package com.lojajogos.embalagem.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncoderComCacheTest {
+
+  private final AtomicInteger verificacoes = new AtomicInteger();
+
+  private final PasswordEncoder bcrypt =
+      new BCryptPasswordEncoder(4) {
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+          verificacoes.incrementAndGet();
+          return super.matches(rawPassword, encodedPassword);
+        }
+      };
+
+  @Test
+  @DisplayName("Senha correta repetida é verificada pelo BCrypt uma única vez")
+  void testSenhaCorretaVerificadaUmaVez() {
+    PasswordEncoder encoder =
+        new PasswordEncoderComCache(
+            bcrypt, new EmbalagemProperties.Cache(10, Duration.ofMinutes(5)));
+    String hash = encoder.encode("admin");
+
+    for (int i = 0; i < 5; i++) {
+      assertTrue(encoder.matches("admin", hash));
+    }
+
+    assertEquals(1, verificacoes.get());
+  }
+
+  @Test
+  @DisplayName("Senha errada e hash trocado nunca são respondidos pelo cache")
+  void testFalhasSempreVerificadas() {
+    PasswordEncoder encoder =
+        new PasswordEncoderComCache(
+            bcrypt, new EmbalagemProperties.Cache(10, Duration.ofMinutes(5)));
+    String hash = encoder.encode("admin");
+    assertTrue(encoder.matches("admin", hash));
+
+    assertFalse(encoder.matches("errada", hash));
+    assertFalse(encoder.matches("errada", hash));
+    // mesma senha com outro hash, como depois de uma troca de senha
+    assertFalse(encoder.matches("admin", encoder.encode("nova")));
+
+    assertEquals(4, verificacoes.get());
+  }
+
+  @Test
+  @DisplayName("Com max-entradas zero toda verificação passa pelo BCrypt")
+  void testCacheDesativado() {
+    PasswordEncoder encoder =
+        new PasswordEncoderComCache(bcrypt, new EmbalagemProperties.Cache(0, null));
+    String hash = encoder.encode("admin");
+
+    assertTrue(encoder.matches("admin", hash));
+    assertTrue(encoder.matches("admin", hash));
+
+    assertEquals(2, verificacoes.get());
+  }
+}
@@ -0,0 +1,50 @@
+package com.lojajogos.embalagem.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.response.EstatisticasPodaDTO;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CatalogoServiceImpl;
+import com.lojajogos.embalagem.service.impl.EstrategiaExaustiva;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class BuscaControllerTest {
+
+  @Test
+  @DisplayName("podas deve retornar os descartes acumulados pela busca exaustiva")
+  void podas_shouldReturnCounters() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    EstrategiaExaustiva estrategia =
+        new EstrategiaExaustiva(
+            ForkJoinPool.commonPool(),
+            properties,
+            new CacheEncaixe(properties),
+            new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {}));
+    BuscaController controller = new BuscaController(estrategia);
+    assertEquals(0, controller.podas().getBody().getGrupos_testados());
+
+    // a Base não cabe sozinha na Caixa 1, onde os dois Blocos são agrupados
+    Produto base = new Produto("Base", new Dimensao(70, 45, 35));
+    Produto bloco1 = new Produto("Bloco1", new Dimensao(20, 20, 20));
+    Produto bloco2 = new Produto("Bloco2", new Dimensao(20, 20, 20));
+    estrategia.empacotar(
+        new Pedido(1, Arrays.asList(base, bloco1, bloco2)), ContextoBusca.semPrazo());
+    ResponseEntity<EstatisticasPodaDTO> response = controller.podas();
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertTrue(response.getBody().getProdutos_descartados_dominancia() >= 1);
+    assertTrue(response.getBody().getGrupos_testados() > 0);
+  }
+}
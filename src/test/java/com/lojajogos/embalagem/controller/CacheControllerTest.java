@@ -0,0 +1,45 @@
+package com.lojajogos.embalagem.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.response.EstatisticasCacheDTO;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.service.impl.CacheEncaixe;
+import com.lojajogos.embalagem.service.impl.CachePedidos;
+import com.lojajogos.embalagem.service.impl.CatalogoServiceImpl;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+class CacheControllerTest {
+
+  @Test
+  @DisplayName("estatisticas deve retornar todos os caches, inclusive quando desativados")
+  void estatisticas_shouldReturnAllCaches() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    CatalogoServiceImpl catalogoService =
+        new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+    catalogoService.atual().compatibilidade(new Dimensao(10, 20, 30));
+    catalogoService.atual().compatibilidade(new Dimensao(30, 10, 20));
+    CacheController controller =
+        new CacheController(
+            new CacheEncaixe(properties), new CachePedidos(properties), catalogoService);
+
+    ResponseEntity<Map<String, EstatisticasCacheDTO>> response = controller.estatisticas();
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(3, response.getBody().size());
+    EstatisticasCacheDTO encaixe = response.getBody().get("encaixe");
+    assertEquals(0, encaixe.getTamanho());
+    assertEquals(0, encaixe.getAcertos());
+    assertEquals(0, response.getBody().get("pedidos").getDespejos());
+    EstatisticasCacheDTO compatibilidade = response.getBody().get("compatibilidade");
+    assertEquals(1, compatibilidade.getTamanho());
+    assertEquals(1, compatibilidade.getAcertos());
+  }
+}
@@ -2,7 +2,11 @@ package com.lojajogos.embalagem.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.lojajogos.embalagem.dto.request.DimensaoDTO;
@@ -11,7 +15,9 @@ import com.lojajogos.embalagem.dto.request.ProdutoDTO;
 import com.lojajogos.embalagem.dto.response.CaixaDTO;
 import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
 import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.TipoEstrategia;
 import com.lojajogos.embalagem.service.impl.EmbalagensServiceImpl;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -25,7 +31,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 class EmbalagemControllerTest {
@@ -57,15 +67,15 @@ class EmbalagemControllerTest {
     Map<String, List<PedidoDTO>> requestBody = new HashMap<>();
     requestBody.put("pedidos", pedidosList);
 
-    when(embalagensServiceMock.processarPedidos(pedidosList)).thenReturn(mockResponseDTO);
+    when(embalagensServiceMock.processarPedidos(pedidosList, null)).thenReturn(mockResponseDTO);
 
     ResponseEntity<ResponseDTO> responseEntity =
-        embalagemController.otimizarEmbalagens(requestBody);
+        embalagemController.otimizarEmbalagens(requestBody, null, null);
 
     assertNotNull(responseEntity);
     assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     assertEquals(mockResponseDTO, responseEntity.getBody());
-    verify(embalagensServiceMock).processarPedidos(pedidosList);
+    verify(embalagensServiceMock).processarPedidos(pedidosList, null);
   }
 
   @Test
@@ -78,16 +88,16 @@ class EmbalagemControllerTest {
 
     ResponseDTO emptyServiceResponseDTO =
         new ResponseDTO(new ArrayList<>()); // Service handles empty list
-    when(embalagensServiceMock.processarPedidos(emptyPedidosList))
+    when(embalagensServiceMock.processarPedidos(emptyPedidosList, null))
         .thenReturn(emptyServiceResponseDTO);
 
     ResponseEntity<ResponseDTO> responseEntity =
-        embalagemController.otimizarEmbalagens(requestBody);
+        embalagemController.otimizarEmbalagens(requestBody, null, null);
 
     assertNotNull(responseEntity);
     assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     assertEquals(emptyServiceResponseDTO, responseEntity.getBody());
-    verify(embalagensServiceMock).processarPedidos(emptyPedidosList);
+    verify(embalagensServiceMock).processarPedidos(emptyPedidosList, null);
   }
 
   @Test
@@ -97,14 +107,80 @@ class EmbalagemControllerTest {
     Map<String, List<PedidoDTO>> requestBody = new HashMap<>(); // "pedidos" key is missing
 
     ResponseDTO serviceResponseForNull = new ResponseDTO(new ArrayList<>());
-    when(embalagensServiceMock.processarPedidos(null)).thenReturn(serviceResponseForNull);
+    when(embalagensServiceMock.processarPedidos(null, null)).thenReturn(serviceResponseForNull);
 
     ResponseEntity<ResponseDTO> responseEntity =
-        embalagemController.otimizarEmbalagens(requestBody);
+        embalagemController.otimizarEmbalagens(requestBody, null, null);
 
     assertNotNull(responseEntity);
     assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
     assertEquals(serviceResponseForNull, responseEntity.getBody());
-    verify(embalagensServiceMock).processarPedidos(null);
+    verify(embalagensServiceMock).processarPedidos(null, null);
+  }
+
+  @Test
+  @DisplayName("processarPedidos deve repassar a estratégia informada no parâmetro de consulta")
+  void processarPedidos_estrategiaQueryParam_shouldTakePrecedenceOverHeader() {
+    List<PedidoDTO> pedidosList = Collections.singletonList(pedidoDTO1);
+    Map<String, List<PedidoDTO>> requestBody = new HashMap<>();
+    requestBody.put("pedidos", pedidosList);
+
+    when(embalagensServiceMock.processarPedidos(pedidosList, TipoEstrategia.FIRST_FIT_DECREASING))
+        .thenReturn(mockResponseDTO);
+
+    ResponseEntity<ResponseDTO> responseEntity =
+        embalagemController.otimizarEmbalagens(
+            requestBody, "first-fit-decreasing", "pontos-extremos");
+
+    assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    verify(embalagensServiceMock)
+        .processarPedidos(pedidosList, TipoEstrategia.FIRST_FIT_DECREASING);
+  }
+
+  @Test
+  @DisplayName("processarPedidos deve aceitar a estratégia pelo cabeçalho")
+  void processarPedidos_estrategiaHeader_shouldBeUsedWithoutQueryParam() {
+    List<PedidoDTO> pedidosList = Collections.singletonList(pedidoDTO1);
+    Map<String, List<PedidoDTO>> requestBody = new HashMap<>();
+    requestBody.put("pedidos", pedidosList);
+
+    when(embalagensServiceMock.processarPedidos(pedidosList, TipoEstrategia.BEST_FIT_DECREASING))
+        .thenReturn(mockResponseDTO);
+
+    embalagemController.otimizarEmbalagens(requestBody, null, "BEST_FIT_DECREASING");
+
+    verify(embalagensServiceMock).processarPedidos(pedidosList, TipoEstrategia.BEST_FIT_DECREASING);
+  }
+
+  @Test
+  @DisplayName("processarPedidos deve retornar 400 para estratégia desconhecida")
+  void processarPedidos_unknownEstrategia_shouldReturnBadRequest() {
+    Map<String, List<PedidoDTO>> requestBody = new HashMap<>();
+    requestBody.put("pedidos", Collections.singletonList(pedidoDTO1));
+
+    ResponseStatusException exception =
+        assertThrows(
+            ResponseStatusException.class,
+            () -> embalagemController.otimizarEmbalagens(requestBody, "aleatoria", null));
+
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verifyNoInteractions(embalagensServiceMock);
+  }
+
+  @Test
+  @DisplayName("otimizarFluxo deve repassar o corpo da requisição e a estratégia ao serviço")
+  void otimizarFluxo_shouldStreamRequestBodyThroughService() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setContent("{\"pedido_id\":1,\"produtos\":[]}\n".getBytes());
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+    ResponseEntity<StreamingResponseBody> responseEntity =
+        embalagemController.otimizarFluxo(request, "pontos-extremos", null);
+    assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+    verifyNoInteractions(embalagensServiceMock);
+    responseEntity.getBody().writeTo(saida);
+
+    verify(embalagensServiceMock)
+        .processarFluxo(any(), same(saida), same(TipoEstrategia.PONTOS_EXTREMOS));
   }
 }
@@ -0,0 +1,91 @@
+package com.lojajogos.embalagem.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.response.JobDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.StatusJob;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.JobsEmbalagemService;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class JobsControllerTest {
+
+  @Mock private JobsEmbalagemService jobsServiceMock;
+
+  @InjectMocks private JobsController jobsController;
+
+  @Test
+  @DisplayName("submeter deve retornar 202 com o endereço do job")
+  void submeter_shouldReturnAccepted() {
+    List<PedidoDTO> pedidos = List.of(new PedidoDTO(1, List.of()));
+    when(jobsServiceMock.submeter(pedidos, TipoEstrategia.PONTOS_EXTREMOS))
+        .thenReturn(job(StatusJob.PENDENTE));
+
+    ResponseEntity<JobDTO> response =
+        jobsController.submeter(Map.of("pedidos", pedidos), "pontos-extremos", null);
+
+    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    assertEquals("/api/v1/embalagens/jobs/j1", response.getHeaders().getLocation().toString());
+  }
+
+  @Test
+  @DisplayName("submeter deve retornar 429 quando a fila está cheia")
+  void submeter_fullQueue_shouldReturnTooManyRequests() {
+    when(jobsServiceMock.submeter(null, null)).thenThrow(new RejectedExecutionException());
+
+    ResponseStatusException exception =
+        assertThrows(
+            ResponseStatusException.class, () -> jobsController.submeter(Map.of(), null, null));
+
+    assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+  }
+
+  @Test
+  @DisplayName("resultado deve retornar 404 para job desconhecido e 409 enquanto executa")
+  void resultado_shouldDistinguishUnknownAndRunningJobs() {
+    when(jobsServiceMock.consultar("x")).thenReturn(Optional.empty());
+    when(jobsServiceMock.consultar("j1")).thenReturn(Optional.of(job(StatusJob.EXECUTANDO)));
+    when(jobsServiceMock.resultado("j1")).thenReturn(Optional.empty());
+
+    assertEquals(
+        HttpStatus.NOT_FOUND,
+        assertThrows(ResponseStatusException.class, () -> jobsController.resultado("x"))
+            .getStatusCode());
+    assertEquals(
+        HttpStatus.CONFLICT,
+        assertThrows(ResponseStatusException.class, () -> jobsController.resultado("j1"))
+            .getStatusCode());
+  }
+
+  @Test
+  @DisplayName("resultado deve retornar a resposta do lote quando o job termina")
+  void resultado_finishedJob_shouldReturnResponse() {
+    ResponseDTO resposta = new ResponseDTO(List.of());
+    when(jobsServiceMock.consultar("j1")).thenReturn(Optional.of(job(StatusJob.CONCLUIDO)));
+    when(jobsServiceMock.resultado("j1")).thenReturn(Optional.of(resposta));
+
+    assertEquals(resposta, jobsController.resultado("j1").getBody());
+  }
+
+  private static JobDTO job(StatusJob status) {
+    return new JobDTO("j1", status, 0, 1, Instant.EPOCH, null);
+  }
+}
@@ -0,0 +1,53 @@
+package com.lojajogos.embalagem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DimensaoTest {
+
+  @Test
+  @DisplayName("Medidas ordenadas e volume são calculados na construção")
+  void testMedidasOrdenadas() {
+    Dimensao dim = new Dimensao(40, 80, 50);
+
+    assertEquals(80, dim.getMaior());
+    assertEquals(50, dim.getMedio());
+    assertEquals(40, dim.getMenor());
+    assertEquals(160_000L, dim.getVolume());
+    assertEquals(new Dimensao(40, 80, 50), dim);
+  }
+
+  @Test
+  @DisplayName("Volume de medidas em milímetros não estoura int")
+  void testVolumeNaoEstoura() {
+    Dimensao palete = new Dimensao(2_000, 2_000, 2_000);
+    Dimensao extremo = new Dimensao(Integer.MAX_VALUE, Integer.MAX_VALUE, 2);
+
+    assertEquals(8_000_000_000L, palete.getVolume());
+    assertEquals(2L * Integer.MAX_VALUE * Integer.MAX_VALUE, extremo.getVolume());
+    assertEquals(Integer.MAX_VALUE, extremo.getMaior());
+    assertEquals(Integer.MAX_VALUE, extremo.getMedio());
+    assertEquals(2, extremo.getMenor());
+  }
+
+  @Test
+  @DisplayName("Encaixe em caixas com volume acima de int considera qualquer orientação")
+  void testEncaixeEmMilimetros() {
+    TipoCaixa tipo = new TipoCaixa("Palete", new Dimensao(1_200, 2_000, 1_800), BigDecimal.ONE);
+    Caixa caixa = tipo.novaCaixa();
+    Produto geladeira = new Produto("Geladeira", new Dimensao(1_900, 700, 1_100));
+
+    assertEquals(4_320_000_000L, tipo.getVolume());
+    assertTrue(tipo.comporta(geladeira.getDimensoes()));
+    assertTrue(caixa.podeAdicionar(geladeira));
+    assertFalse(tipo.comporta(new Dimensao(1_300, 1_900, 1_900)));
+
+    caixa.adicionarProduto(geladeira);
+    assertEquals(4_320_000_000L - 1_463_000_000L, caixa.getVolumeDisponivel());
+  }
+}
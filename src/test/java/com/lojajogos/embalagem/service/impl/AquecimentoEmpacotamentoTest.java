@@ -0,0 +1,162 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.dto.request.DimensaoDTO;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.request.ProdutoDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EmbalagensService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AquecimentoEmpacotamentoTest {
+
+  @Mock private EmbalagensService embalagensService;
+  @Mock private CachePedidos cachePedidos;
+  @Mock private CacheEncaixe cacheEncaixe;
+  @Mock private EstrategiaExaustiva estrategiaExaustiva;
+
+  private final EmbalagemProperties properties = new EmbalagemProperties();
+  private final CatalogoServiceImpl catalogoService =
+      new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MetricasEmpacotamento metricas = new MetricasEmpacotamento(registry);
+  private final ContadoresPoda contadoresPoda = new ContadoresPoda();
+
+  private AquecimentoEmpacotamento criar() {
+    when(estrategiaExaustiva.getContadoresPoda()).thenReturn(contadoresPoda);
+    return new AquecimentoEmpacotamento(
+        embalagensService,
+        catalogoService,
+        cachePedidos,
+        cacheEncaixe,
+        metricas,
+        estrategiaExaustiva,
+        properties,
+        new ObjectMapper());
+  }
+
+  private long pedidosMedidos() {
+    return registry.get("embalagem.pedido.duracao").timers().stream()
+        .mapToLong(timer -> timer.count())
+        .sum();
+  }
+
+  @Test
+  @DisplayName("Desativado por padrão, não processa nada")
+  void testDesativado() throws Exception {
+    assertEquals(0, criar().aquecer());
+
+    verifyNoInteractions(embalagensService, cachePedidos, cacheEncaixe);
+  }
+
+  @Test
+  @DisplayName("Processa os pedidos configurados em lotes que cabem no catálogo e limpa os caches")
+  @SuppressWarnings("unchecked")
+  void testProcessaLotesELimpaCaches() throws Exception {
+    properties.getAquecimento().setHabilitado(true);
+    properties.getAquecimento().setPedidos(250);
+    when(embalagensService.processarPedidos(anyList(), any()))
+        .thenReturn(new ResponseDTO(List.of()));
+    CatalogoCaixas catalogo = catalogoService.atual();
+    catalogo.compatibilidade(new Dimensao(10, 10, 10));
+
+    assertEquals(250, criar().aquecer());
+
+    verify(cachePedidos).limpar();
+    verify(cacheEncaixe).limpar();
+    assertEquals(0, catalogo.tamanhoCompatibilidades());
+
+    ArgumentCaptor<List<PedidoDTO>> lotes = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<TipoEstrategia> estrategias = ArgumentCaptor.forClass(TipoEstrategia.class);
+    verify(embalagensService, times(3)).processarPedidos(lotes.capture(), estrategias.capture());
+    assertEquals(
+        List.of(100, 100, 50),
+        lotes.getAllValues().stream().map(List::size).collect(Collectors.toList()));
+    assertEquals(
+        List.of(properties.getEstrategiaPadrao()),
+        estrategias.getAllValues().stream().distinct().collect(Collectors.toList()));
+    for (List<PedidoDTO> lote : lotes.getAllValues()) {
+      for (PedidoDTO pedido : lote) {
+        assertTrue(pedido.getProdutos().size() <= AquecimentoEmpacotamento.MAX_PRODUTOS);
+        for (ProdutoDTO produto : pedido.getProdutos()) {
+          DimensaoDTO dim = produto.getDimensoes();
+          assertTrue(
+              catalogo.comportaEmAlgum(
+                  new Dimensao(dim.getAltura(), dim.getLargura(), dim.getComprimento())));
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName(
+      "Pedidos sintéticos ficam fora das métricas, das podas e das estatísticas dos caches")
+  void testForaDasMetricas() throws Exception {
+    properties.getAquecimento().setHabilitado(true);
+    properties.getAquecimento().setPedidos(100);
+    when(embalagensService.processarPedidos(anyList(), any()))
+        .thenAnswer(
+            invocacao -> {
+              metricas.registrar(
+                  TipoEstrategia.EXAUSTIVA, 3, 1_000, ContextoBusca.semPrazo(), 0, false);
+              contadoresPoda.registrarRodada(2, 1);
+              contadoresPoda.registrarVarredura(10, 4, 3);
+              return new ResponseDTO(List.of());
+            });
+    CatalogoCaixas catalogo = catalogoService.atual();
+    catalogo.compatibilidade(new Dimensao(10, 10, 10));
+    catalogo.compatibilidade(new Dimensao(10, 10, 10));
+
+    assertEquals(100, criar().aquecer());
+
+    assertEquals(0, pedidosMedidos());
+    assertEquals(0, contadoresPoda.getProdutosPorDominancia());
+    assertEquals(0, contadoresPoda.getGruposTestados());
+    assertEquals(0, contadoresPoda.getGruposPorVolume());
+    verify(cachePedidos).zerarEstatisticas();
+    verify(cacheEncaixe).zerarEstatisticas();
+    assertEquals(0, catalogo.estatisticasCompatibilidade().requestCount());
+
+    // os pedidos reais seguintes voltam a ser contados
+    metricas.registrar(TipoEstrategia.EXAUSTIVA, 3, 1_000, ContextoBusca.semPrazo(), 0, false);
+    catalogo.compatibilidade(new Dimensao(10, 10, 10));
+    assertEquals(1, pedidosMedidos());
+    assertEquals(1, catalogo.estatisticasCompatibilidade().missCount());
+  }
+
+  @Test
+  @DisplayName("Tempo máximo esgotado encerra o aquecimento antes dos pedidos configurados")
+  void testTempoMaximo() throws Exception {
+    properties.getAquecimento().setHabilitado(true);
+    properties.getAquecimento().setTempoMaximo(Duration.ZERO);
+
+    assertEquals(0, criar().aquecer());
+
+    verifyNoInteractions(embalagensService);
+    verify(cachePedidos).limpar();
+  }
+}
@@ -0,0 +1,144 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoAlteradoEvent;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.Compatibilidade;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CatalogoServiceImplTest {
+
+  private final List<Object> eventos = new ArrayList<>();
+
+  private CatalogoServiceImpl criarServico(EmbalagemProperties properties) {
+    return new CatalogoServiceImpl(properties, new ObjectMapper(), eventos::add);
+  }
+
+  @Test
+  @DisplayName("Catálogo padrão fica em ordem crescente de volume com medidas pré-calculadas")
+  void testCatalogoPadrao() {
+    CatalogoCaixas catalogo = criarServico(new EmbalagemProperties()).atual();
+
+    assertEquals(
+        Arrays.asList("Caixa 1", "Caixa 2", "Caixa 3"),
+        catalogo.getTipos().stream().map(TipoCaixa::getId).collect(Collectors.toList()));
+    TipoCaixa caixa2 = catalogo.tipo(1);
+    assertEquals(80, caixa2.getMaior());
+    assertEquals(50, caixa2.getMedio());
+    assertEquals(40, caixa2.getMenor());
+    assertEquals(160000, caixa2.getVolume());
+  }
+
+  @Test
+  @DisplayName("Tipos dominados por outro ficam fora das consultas de maior caixa")
+  void testTiposDominados() {
+    CatalogoCaixas catalogo =
+        new CatalogoCaixas(
+            1,
+            Arrays.asList(
+                tipo("Grande", 60, 60, 60, "3.00"),
+                tipo("Pequena", 10, 20, 30, "0.50"),
+                tipo("Comprida", 10, 10, 100, "1.00"),
+                tipo("Media", 40, 30, 20, "1.50")));
+
+    assertEquals("Grande", catalogo.maiorQueComporta(new Dimensao(30, 20, 10)).getId());
+    assertEquals("Comprida", catalogo.maiorQueComporta(new Dimensao(90, 5, 5)).getId());
+    assertNull(catalogo.maiorQueComporta(new Dimensao(70, 20, 20)));
+  }
+
+  @Test
+  @DisplayName("Compatibilidade lista os tipos que comportam a medida e quantas unidades empilham")
+  void testCompatibilidade() {
+    CatalogoCaixas catalogo =
+        new CatalogoCaixas(
+            1,
+            Arrays.asList(
+                tipo("Pequena", 10, 20, 30, "0.50"),
+                tipo("Comprida", 10, 10, 100, "1.00"),
+                tipo("Grande", 60, 60, 60, "3.00")),
+            100);
+
+    Compatibilidade compatibilidade = catalogo.compatibilidade(new Dimensao(5, 12, 11));
+
+    assertTrue(compatibilidade.comportaEmAlgum());
+    assertEquals(0, compatibilidade.getPrimeiro());
+    assertEquals(2, compatibilidade.getMaior());
+    assertFalse(compatibilidade.comporta(1));
+    // deitado, 5 cm cabe 2 vezes nos 10 cm da Pequena; na Grande, 12 vezes nos 60 cm
+    assertEquals(2, compatibilidade.maximoEmpilhado(0));
+    assertEquals(0, compatibilidade.maximoEmpilhado(1));
+    assertEquals(12, compatibilidade.maximoEmpilhado(2));
+    // medidas em outra ordem são a mesma entrada
+    assertSame(compatibilidade, catalogo.compatibilidade(new Dimensao(11, 5, 12)));
+    assertEquals(1, catalogo.tamanhoCompatibilidades());
+    assertFalse(catalogo.compatibilidade(new Dimensao(70, 20, 20)).comportaEmAlgum());
+  }
+
+  @Test
+  @DisplayName("Catálogo inválido é rejeitado e o anterior continua em vigor")
+  void testCatalogoInvalidoMantemAnterior() {
+    CatalogoServiceImpl servico = criarServico(new EmbalagemProperties());
+    CatalogoCaixas anterior = servico.atual();
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            servico.substituir(
+                Arrays.asList(tipo("A", 10, 10, 10, "1.00"), tipo("A", 20, 20, 20, "2.00"))));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> servico.substituir(Arrays.asList(tipo("Plana", 10, 0, 10, "1.00"))));
+    assertThrows(IllegalArgumentException.class, () -> servico.substituir(List.of()));
+
+    assertSame(anterior, servico.atual());
+    assertEquals(0, eventos.size());
+  }
+
+  @Test
+  @DisplayName("Recarregar lê o arquivo configurado, troca o catálogo e publica o evento")
+  void testRecarregarDoArquivo(@TempDir Path diretorio) throws IOException {
+    Path arquivo = diretorio.resolve("caixas.json");
+    EmbalagemProperties properties = new EmbalagemProperties();
+    CatalogoServiceImpl servico = criarServico(properties);
+    Files.writeString(
+        arquivo,
+        "[{\"id\": \"Envelope\", \"altura\": 2, \"largura\": 25, \"comprimento\": 35,"
+            + " \"custo\": 0.40},"
+            + " {\"id\": \"Cubo\", \"altura\": 50, \"largura\": 50, \"comprimento\": 50,"
+            + " \"custo\": 2.00}]");
+    properties.getCatalogo().setArquivo(arquivo.toString());
+
+    CatalogoCaixas novo = servico.recarregar();
+
+    assertEquals(2, novo.getVersao());
+    assertEquals("Envelope", novo.tipo(0).getId());
+    assertEquals(new BigDecimal("0.40"), novo.tipo(0).getCusto());
+    assertSame(novo, servico.atual());
+    assertEquals(1, eventos.size());
+    assertSame(novo, ((CatalogoAlteradoEvent) eventos.get(0)).getAtual());
+  }
+
+  private TipoCaixa tipo(String id, int altura, int largura, int comprimento, String custo) {
+    return new TipoCaixa(id, new Dimensao(altura, largura, comprimento), new BigDecimal(custo));
+  }
+}
@@ -0,0 +1,116 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CombinacoesTest {
+
+  private static final long ORCAMENTO_HEAP_BYTES = 64 * 1024;
+
+  @Test
+  @DisplayName("Enumera as combinações em ordem lexicográfica")
+  void testEnumeraEmOrdemLexicografica() {
+    int[] indices = new int[5];
+    List<int[]> geradas = new ArrayList<>();
+
+    Combinacoes.primeira(indices, 3);
+    do {
+      geradas.add(Arrays.copyOf(indices, 3));
+    } while (Combinacoes.proxima(indices, 3, 5));
+
+    assertEquals(10, geradas.size());
+    assertArrayEquals(new int[] {0, 1, 2}, geradas.get(0));
+    assertArrayEquals(new int[] {0, 1, 3}, geradas.get(1));
+    assertArrayEquals(new int[] {0, 2, 3}, geradas.get(3));
+    assertArrayEquals(new int[] {2, 3, 4}, geradas.get(9));
+  }
+
+  @Test
+  @DisplayName("Combinação de todos os elementos é única")
+  void testCombinacaoCompleta() {
+    int[] indices = new int[4];
+    Combinacoes.primeira(indices, 4);
+
+    assertArrayEquals(new int[] {0, 1, 2, 3}, indices);
+    assertFalse(Combinacoes.proxima(indices, 4, 4));
+  }
+
+  @Test
+  @DisplayName("Desranquear devolve a combinação de cada posição da ordem lexicográfica")
+  void testDesranquearSegueAOrdemLexicografica() {
+    int n = 7;
+    int k = 4;
+    int[] enumerada = new int[k];
+    int[] desranqueada = new int[k];
+
+    Combinacoes.primeira(enumerada, k);
+    long posto = 0;
+    do {
+      Combinacoes.desranquear(desranqueada, k, n, posto++);
+      assertArrayEquals(enumerada, desranqueada);
+    } while (Combinacoes.proxima(enumerada, k, n));
+
+    assertEquals(Combinacoes.binomial(n, k), posto);
+    assertEquals(Combinacoes.SATURADO, Combinacoes.binomial(100, 50));
+  }
+
+  @Test
+  @DisplayName("Binomial é exato acima de 128 elementos enquanto o resultado cabe num long")
+  void testBinomialAcimaDaTabela() {
+    assertEquals(8385, Combinacoes.binomial(130, 2));
+    assertEquals(1_313_400, Combinacoes.binomial(200, 3));
+    assertEquals(1000, Combinacoes.binomial(1000, 999));
+    assertEquals(Combinacoes.SATURADO, Combinacoes.binomial(200, 100));
+    // C(130, 10) calculado pela tabela de Pascal em BigInteger
+    BigInteger[] linha = {BigInteger.ONE};
+    for (int n = 1; n <= 130; n++) {
+      BigInteger[] proxima = new BigInteger[n + 1];
+      proxima[0] = proxima[n] = BigInteger.ONE;
+      for (int k = 1; k < n; k++) {
+        proxima[k] = linha[k - 1].add(linha[k]);
+      }
+      linha = proxima;
+    }
+    assertEquals(linha[10].longValueExact(), Combinacoes.binomial(130, 10));
+
+    int[] indices = new int[2];
+    Combinacoes.desranquear(indices, 2, 130, 255);
+    assertArrayEquals(new int[] {1, 128}, indices);
+  }
+
+  @Test
+  @DisplayName("Enumerar subconjuntos de um pedido com 30 itens não aloca memória proporcional")
+  void testEnumeracaoDe30ItensDentroDoOrcamentoDeHeap() {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    int n = 30;
+    int[] indices = new int[n];
+
+    long alocadoAntes = threadMXBean.getThreadAllocatedBytes(threadId);
+    long total = 0;
+    for (int k = 1; k <= 5; k++) {
+      Combinacoes.primeira(indices, k);
+      do {
+        total++;
+      } while (Combinacoes.proxima(indices, k, n));
+    }
+    long alocado = threadMXBean.getThreadAllocatedBytes(threadId) - alocadoAntes;
+
+    // C(30,1) + C(30,2) + C(30,3) + C(30,4) + C(30,5)
+    assertEquals(174436, total);
+    assertTrue(
+        alocado < ORCAMENTO_HEAP_BYTES,
+        "Enumeração alocou " + alocado + " bytes, acima do orçamento de " + ORCAMENTO_HEAP_BYTES);
+  }
+}
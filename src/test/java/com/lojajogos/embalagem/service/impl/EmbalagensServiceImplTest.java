@@ -2,13 +2,20 @@ package com.lojajogos.embalagem.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.config.ExecutorConfig;
 import com.lojajogos.embalagem.dto.request.DimensaoDTO;
 import com.lojajogos.embalagem.dto.request.PedidoDTO;
 import com.lojajogos.embalagem.dto.request.ProdutoDTO;
@@ -18,25 +25,38 @@ import com.lojajogos.embalagem.dto.response.ResponseDTO;
 import com.lojajogos.embalagem.model.Pedido;
 import com.lojajogos.embalagem.model.Produto;
 import com.lojajogos.embalagem.service.EmpacotamentoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 
 @ExtendWith(MockitoExtension.class)
 public class EmbalagensServiceImplTest {
 
   @Mock private EmpacotamentoService empacotamentoServiceMock;
 
-  @InjectMocks private EmbalagensServiceImpl embalagensService;
+  private EmbalagensServiceImpl embalagensService;
+  private final List<ExecutorService> executores = new ArrayList<>();
+  private final ObjectMapper objectMapper = new ObjectMapper();
 
   private PedidoDTO pedidoDTO1;
   private PedidoDTO pedidoDTO2;
@@ -47,6 +67,8 @@ public class EmbalagensServiceImplTest {
 
   @BeforeEach
   void setUp() {
+    embalagensService = criarServico(1);
+
     DimensaoDTO dimensaoDTO1 = new DimensaoDTO(10, 10, 10);
     produtoDTO1 = new ProdutoDTO("produto1", dimensaoDTO1);
     pedidoDTO1 = new PedidoDTO(1, Collections.singletonList(produtoDTO1));
@@ -62,6 +84,27 @@ public class EmbalagensServiceImplTest {
     pedidoResponseDTO2 = new PedidoResponseDTO(2, Collections.singletonList(caixaDTO2));
   }
 
+  @AfterEach
+  void tearDown() {
+    executores.forEach(ExecutorService::shutdownNow);
+  }
+
+  private EmbalagensServiceImpl criarServico(int maxPorLote) {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getParalelismo().setThreads(4);
+    properties.getParalelismo().setMaxPorLote(maxPorLote);
+    return new EmbalagensServiceImpl(
+        empacotamentoServiceMock, executorPedidos(properties), properties, objectMapper);
+  }
+
+  // O mesmo executor que ExecutorConfig monta no perfil padrão.
+  private Executor executorPedidos(EmbalagemProperties properties) {
+    ExecutorService executor =
+        (ExecutorService) new ExecutorConfig().executorPedidos(properties, new MockEnvironment());
+    executores.add(executor);
+    return executor;
+  }
+
   @Test
   @DisplayName("processarPedidos deve retornar ResponseDTO vazio para lista de pedidos vazia")
   void testProcessarPedidos_emptyList() {
@@ -75,7 +118,8 @@ public class EmbalagensServiceImplTest {
   @Test
   @DisplayName("processarPedidos deve processar um único pedido corretamente")
   void testProcessarPedidos_singlePedido() {
-    when(empacotamentoServiceMock.processar(any(Pedido.class))).thenReturn(pedidoResponseDTO1);
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenReturn(pedidoResponseDTO1);
 
     List<PedidoDTO> pedidosDTO = Collections.singletonList(pedidoDTO1);
     ResponseDTO response = embalagensService.processarPedidos(pedidosDTO);
@@ -85,7 +129,7 @@ public class EmbalagensServiceImplTest {
     assertEquals(pedidoResponseDTO1, response.getPedidos().get(0));
 
     ArgumentCaptor<Pedido> pedidoCaptor = ArgumentCaptor.forClass(Pedido.class);
-    verify(empacotamentoServiceMock, times(1)).processar(pedidoCaptor.capture());
+    verify(empacotamentoServiceMock, times(1)).processar(pedidoCaptor.capture(), isNull());
 
     Pedido capturedPedido = pedidoCaptor.getValue();
     assertEquals(pedidoDTO1.getPedido_id(), capturedPedido.getId());
@@ -104,7 +148,7 @@ public class EmbalagensServiceImplTest {
   @Test
   @DisplayName("processarPedidos deve processar múltiplos pedidos corretamente")
   void testProcessarPedidos_multiplePedidos() {
-    when(empacotamentoServiceMock.processar(any(Pedido.class)))
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
         .thenReturn(pedidoResponseDTO1)
         .thenReturn(pedidoResponseDTO2);
 
@@ -117,7 +161,7 @@ public class EmbalagensServiceImplTest {
     assertTrue(response.getPedidos().contains(pedidoResponseDTO2));
 
     ArgumentCaptor<Pedido> pedidoCaptor = ArgumentCaptor.forClass(Pedido.class);
-    verify(empacotamentoServiceMock, times(2)).processar(pedidoCaptor.capture());
+    verify(empacotamentoServiceMock, times(2)).processar(pedidoCaptor.capture(), isNull());
 
     List<Pedido> capturedPedidos = pedidoCaptor.getAllValues();
 
@@ -146,12 +190,12 @@ public class EmbalagensServiceImplTest {
     PedidoDTO pedidoComplexoDTO = new PedidoDTO(99, Collections.singletonList(produtoComplexoDTO));
 
     PedidoResponseDTO mockResponse = new PedidoResponseDTO(99, new ArrayList<>());
-    when(empacotamentoServiceMock.processar(any(Pedido.class))).thenReturn(mockResponse);
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull())).thenReturn(mockResponse);
 
     embalagensService.processarPedidos(Collections.singletonList(pedidoComplexoDTO));
 
     ArgumentCaptor<Pedido> pedidoCaptor = ArgumentCaptor.forClass(Pedido.class);
-    verify(empacotamentoServiceMock).processar(pedidoCaptor.capture());
+    verify(empacotamentoServiceMock).processar(pedidoCaptor.capture(), isNull());
 
     Pedido capturedPedido = pedidoCaptor.getValue();
     assertNotNull(capturedPedido.getProdutos());
@@ -172,7 +216,7 @@ public class EmbalagensServiceImplTest {
     PedidoResponseDTO pedidoSemProdutosResponseDTO =
         new PedidoResponseDTO(3, Collections.emptyList());
 
-    when(empacotamentoServiceMock.processar(any(Pedido.class)))
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
         .thenReturn(pedidoSemProdutosResponseDTO);
 
     List<PedidoDTO> pedidosDTO = Collections.singletonList(pedidoSemProdutosDTO);
@@ -183,10 +227,219 @@ public class EmbalagensServiceImplTest {
     assertEquals(pedidoSemProdutosResponseDTO, response.getPedidos().get(0));
 
     ArgumentCaptor<Pedido> pedidoCaptor = ArgumentCaptor.forClass(Pedido.class);
-    verify(empacotamentoServiceMock, times(1)).processar(pedidoCaptor.capture());
+    verify(empacotamentoServiceMock, times(1)).processar(pedidoCaptor.capture(), isNull());
 
     Pedido capturedPedido = pedidoCaptor.getValue();
     assertEquals(pedidoSemProdutosDTO.getPedido_id(), capturedPedido.getId());
     assertTrue(capturedPedido.getProdutos().isEmpty());
   }
+
+  @Test
+  @DisplayName("processarPedidos em paralelo deve preservar a ordem dos pedidos na resposta")
+  void testProcessarPedidos_parallelPreservesOrder() {
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              Pedido pedido = invocation.getArgument(0);
+              Thread.sleep((pedido.getId() * 7L) % 5);
+              return new PedidoResponseDTO(pedido.getId(), Collections.emptyList());
+            });
+    List<PedidoDTO> pedidosDTO = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      pedidosDTO.add(new PedidoDTO(i, Collections.singletonList(produtoDTO1)));
+    }
+
+    ResponseDTO response = criarServico(4).processarPedidos(pedidosDTO);
+
+    assertEquals(50, response.getPedidos().size());
+    for (int i = 0; i < 50; i++) {
+      assertEquals(i, response.getPedidos().get(i).getPedido_id());
+    }
+    verify(empacotamentoServiceMock, times(50)).processar(any(Pedido.class), isNull());
+  }
+
+  @Test
+  @DisplayName("processarPedidos não deve abortar o lote quando um pedido falha")
+  void testProcessarPedidos_failingPedidoDoesNotAbortOthers() {
+    when(empacotamentoServiceMock.processar(argThat(p -> p != null && p.getId() == 2), isNull()))
+        .thenThrow(new IllegalStateException("falha simulada"));
+    when(empacotamentoServiceMock.processar(argThat(p -> p != null && p.getId() == 1), isNull()))
+        .thenReturn(pedidoResponseDTO1);
+    PedidoDTO pedidoDTO3 = new PedidoDTO(3, Collections.singletonList(produtoDTO1));
+    PedidoResponseDTO pedidoResponseDTO3 = new PedidoResponseDTO(3, Collections.emptyList());
+    when(empacotamentoServiceMock.processar(argThat(p -> p != null && p.getId() == 3), isNull()))
+        .thenReturn(pedidoResponseDTO3);
+
+    ResponseDTO response =
+        criarServico(4).processarPedidos(Arrays.asList(pedidoDTO1, pedidoDTO2, pedidoDTO3));
+
+    assertEquals(3, response.getPedidos().size());
+    assertEquals(pedidoResponseDTO1, response.getPedidos().get(0));
+    PedidoResponseDTO falha = response.getPedidos().get(1);
+    assertEquals(2, falha.getPedido_id());
+    assertTrue(falha.getCaixas().isEmpty());
+    assertTrue(falha.getErro().contains("falha simulada"));
+    assertEquals(pedidoResponseDTO3, response.getPedidos().get(2));
+    assertNull(response.getPedidos().get(2).getErro());
+  }
+
+  @Test
+  @DisplayName("processarFluxo deve responder uma linha por pedido sem exceder o limite do lote")
+  void testProcessarFluxo_respondeCadaPedidoComConcorrenciaLimitada() throws Exception {
+    AtomicInteger emAndamento = new AtomicInteger();
+    AtomicInteger maximo = new AtomicInteger();
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+              Thread.sleep(2);
+              emAndamento.decrementAndGet();
+              Pedido pedido = invocation.getArgument(0);
+              return new PedidoResponseDTO(pedido.getId(), Collections.emptyList());
+            });
+    StringBuilder entrada = new StringBuilder();
+    for (int i = 0; i < 30; i++) {
+      entrada
+          .append(objectMapper.writeValueAsString(new PedidoDTO(i, List.of(produtoDTO1))))
+          .append('\n');
+    }
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+    criarServico(2)
+        .processarFluxo(
+            new ByteArrayInputStream(entrada.toString().getBytes(StandardCharsets.UTF_8)),
+            saida,
+            null);
+
+    String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(30, linhas.length);
+    boolean[] respondidos = new boolean[30];
+    for (String linha : linhas) {
+      respondidos[objectMapper.readValue(linha, PedidoResponseDTO.class).getPedido_id()] = true;
+    }
+    for (boolean respondido : respondidos) {
+      assertTrue(respondido);
+    }
+    assertTrue(maximo.get() <= 2, "Pedidos simultâneos: " + maximo.get());
+  }
+
+  @Test
+  @DisplayName("processarFluxo deve encerrar com uma linha de erro ao encontrar JSON inválido")
+  void testProcessarFluxo_linhaInvalida() throws Exception {
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenReturn(pedidoResponseDTO1);
+    String entrada = objectMapper.writeValueAsString(pedidoDTO1) + "\n{\"pedido_id\": \n";
+    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+    embalagensService.processarFluxo(
+        new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), saida, null);
+
+    String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, linhas.length);
+    assertEquals(pedidoResponseDTO1, objectMapper.readValue(linhas[0], PedidoResponseDTO.class));
+    assertTrue(linhas[1].contains("\"erro\":\"Pedido 2 inválido"), linhas[1]);
+  }
+
+  @Test
+  @DisplayName("Lotes simultâneos não empacotam mais pedidos ao mesmo tempo que max-empacotamentos")
+  void testProcessarPedidos_limiteGlobalDeEmpacotamentos() throws Exception {
+    AtomicInteger emAndamento = new AtomicInteger();
+    AtomicInteger maximo = new AtomicInteger();
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+              Thread.sleep(2);
+              emAndamento.decrementAndGet();
+              return new PedidoResponseDTO(1, Collections.emptyList());
+            });
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getParalelismo().setMaxPorLote(4);
+    properties.getParalelismo().setMaxEmpacotamentos(2);
+    EmbalagensServiceImpl servico =
+        new EmbalagensServiceImpl(
+            empacotamentoServiceMock, executorPedidos(properties), properties, objectMapper);
+    List<PedidoDTO> lote = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      lote.add(new PedidoDTO(i, Collections.singletonList(produtoDTO1)));
+    }
+
+    List<Thread> requisicoes = new ArrayList<>();
+    for (int r = 0; r < 3; r++) {
+      Thread requisicao = new Thread(() -> servico.processarPedidos(lote));
+      requisicao.start();
+      requisicoes.add(requisicao);
+    }
+    for (Thread requisicao : requisicoes) {
+      requisicao.join();
+    }
+
+    verify(empacotamentoServiceMock, times(36)).processar(any(Pedido.class), isNull());
+    assertTrue(maximo.get() <= 2, "Empacotamentos simultâneos: " + maximo.get());
+  }
+
+  @Test
+  @DisplayName(
+      "Lotes simultâneos com a busca exaustiva dividida no pool não travam à espera de vagas")
+  void testProcessarPedidos_buscaNoPoolSemImpasse() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getParalelismo().setThreads(2);
+    properties.getParalelismo().setLimiarBusca(1);
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    properties.getCachePedidos().setMaxEntradas(0);
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      EmbalagensServiceImpl servico =
+          new EmbalagensServiceImpl(
+              empacotamentoReal(properties, pool),
+              executorPedidos(properties),
+              properties,
+              objectMapper);
+      processarLotesSimultaneos(servico);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // Duas requisições com lotes de pedidos de 14 produtos distintos, cuja busca exaustiva passa do
+  // limiar e é dividida entre as threads do pool.
+  private void processarLotesSimultaneos(EmbalagensServiceImpl servico) {
+    List<PedidoDTO> lote = new ArrayList<>();
+    for (int p = 1; p <= 4; p++) {
+      List<ProdutoDTO> produtos = new ArrayList<>();
+      for (int i = 0; i < 14; i++) {
+        produtos.add(new ProdutoDTO("P" + i, new DimensaoDTO(5 + i, 7 + p, 9 + i)));
+      }
+      lote.add(new PedidoDTO(p, produtos));
+    }
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(30),
+        () -> {
+          CompletableFuture<ResponseDTO> outra =
+              CompletableFuture.supplyAsync(() -> servico.processarPedidos(lote));
+          ResponseDTO resposta = servico.processarPedidos(lote);
+          for (ResponseDTO cada : Arrays.asList(resposta, outra.get())) {
+            assertEquals(4, cada.getPedidos().size());
+            for (PedidoResponseDTO pedido : cada.getPedidos()) {
+              assertNull(pedido.getErro());
+              assertEquals(Boolean.TRUE, pedido.getOtimo());
+            }
+          }
+        });
+  }
+
+  private static EmpacotamentoServiceImpl empacotamentoReal(
+      EmbalagemProperties properties, ForkJoinPool pool) {
+    CatalogoServiceImpl catalogoService =
+        new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+    EstrategiaFirstFitDecreasing firstFit = new EstrategiaFirstFitDecreasing(catalogoService);
+    return new EmpacotamentoServiceImpl(
+        Arrays.asList(
+            new EstrategiaExaustiva(
+                pool, properties, new CacheEncaixe(properties), catalogoService),
+            firstFit),
+        properties,
+        new CachePedidos(properties),
+        new MetricasEmpacotamento(new SimpleMeterRegistry()));
+  }
 }
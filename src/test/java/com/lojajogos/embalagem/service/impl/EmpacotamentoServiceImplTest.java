@@ -1,18 +1,29 @@
 package com.lojajogos.embalagem.service.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
 import com.lojajogos.embalagem.dto.response.CaixaDTO;
 import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.dto.response.PosicaoDTO;
 import com.lojajogos.embalagem.model.Dimensao;
 import com.lojajogos.embalagem.model.Pedido;
 import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoEstrategia;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -20,10 +31,34 @@ import org.junit.jupiter.api.Test;
 class EmpacotamentoServiceImplTest {
 
   private EmpacotamentoServiceImpl empacotamentoService;
+  private SimpleMeterRegistry registry;
 
   @BeforeEach
   void setUp() {
-    empacotamentoService = new EmpacotamentoServiceImpl();
+    registry = new SimpleMeterRegistry();
+    empacotamentoService = criarServico(new EmbalagemProperties());
+  }
+
+  private EmpacotamentoServiceImpl criarServico(EmbalagemProperties properties) {
+    return criarServico(properties, new CachePedidos(properties));
+  }
+
+  private EmpacotamentoServiceImpl criarServico(
+      EmbalagemProperties properties, CachePedidos cachePedidos) {
+    CatalogoServiceImpl catalogoService =
+        new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+    return new EmpacotamentoServiceImpl(
+        Arrays.asList(
+            new EstrategiaExaustiva(
+                ForkJoinPool.commonPool(),
+                properties,
+                new CacheEncaixe(properties),
+                catalogoService),
+            new EstrategiaFirstFitDecreasing(catalogoService),
+            new EstrategiaPontosExtremos(catalogoService)),
+        properties,
+        cachePedidos,
+        new MetricasEmpacotamento(registry));
   }
 
   @Test
@@ -44,6 +79,50 @@ class EmpacotamentoServiceImplTest {
     assertNull(caixa.getObservacao());
   }
 
+  @Test
+  @DisplayName("Resposta traz a posição e a orientação de cada produto na caixa")
+  void testProcessar_retornaPosicoes() {
+    Produto ps5 = new Produto("PS5", new Dimensao(40, 10, 25));
+    Produto volante = new Produto("Volante", new Dimensao(40, 30, 30));
+
+    PedidoResponseDTO response =
+        empacotamentoService.processar(new Pedido(1, List.of(ps5, volante)));
+
+    // empilhados ao longo da largura (40) da Caixa 1: 30 do Volante e 10 do PS5
+    CaixaDTO caixa = response.getCaixas().get(0);
+    assertEquals(
+        List.of(
+            new PosicaoDTO("Volante", 0, 0, 0, 40, 30, 30),
+            new PosicaoDTO("PS5", 0, 30, 0, 40, 10, 25)),
+        caixa.getPosicoes());
+
+    // o mesmo pedido com outros ids sai do cache de pedidos com as mesmas posições
+    Produto outroPs5 = new Produto("PS5-2", new Dimensao(40, 10, 25));
+    Produto outroVolante = new Produto("Volante-2", new Dimensao(40, 30, 30));
+    PedidoResponseDTO repetido =
+        empacotamentoService.processar(new Pedido(2, List.of(outroPs5, outroVolante)));
+    assertEquals(0, repetido.getNos_explorados());
+    assertEquals(
+        new PosicaoDTO("PS5-2", 0, 30, 0, 40, 10, 25),
+        repetido.getCaixas().get(0).getPosicoes().get(1));
+  }
+
+  @Test
+  @DisplayName("Produtos repetidos com mesmo id e medidas são todos alocados")
+  void testProcessar_produtosRepetidosNaoSaemJuntos() {
+    // dois controles empilhados ocupam 60 dos 80 cm da Caixa 1; o terceiro vai para outra caixa
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      produtos.add(new Produto("Controle", new Dimensao(40, 30, 30)));
+    }
+
+    PedidoResponseDTO response = empacotamentoService.processar(new Pedido(7, produtos));
+
+    assertEquals(2, response.getCaixas().size());
+    assertEquals(
+        3, response.getCaixas().stream().mapToInt(caixa -> caixa.getProdutos().size()).sum());
+  }
+
   @Test
   @DisplayName(
       "Processar pedido com dois produtos que cabem juntos na Caixa 1 (Mouse e Teclado - Pedido 4)")
@@ -218,4 +297,222 @@ class EmpacotamentoServiceImplTest {
     assertEquals(7, response.getPedido_id());
     assertTrue(response.getCaixas().isEmpty());
   }
+
+  @Test
+  @DisplayName("Produto mais comprido que a altura e a largura da caixa cabe deitado na Caixa 1")
+  void testProcessar_productNeedsRotation() {
+    Produto taco = new Produto("Taco", new Dimensao(70, 10, 10));
+    Pedido pedido = new Pedido(11, Collections.singletonList(taco));
+
+    PedidoResponseDTO response = empacotamentoService.processar(pedido);
+
+    assertEquals(1, response.getCaixas().size());
+    assertEquals("Caixa 1", response.getCaixas().get(0).getCaixa_id());
+  }
+
+  @Test
+  @DisplayName("Cubos empilhados ocupam a Caixa 1 ao longo do comprimento")
+  void testProcessar_cubesStackAlongLongestAxis() {
+    List<Produto> cubos = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      cubos.add(new Produto("Cubo" + i, new Dimensao(20, 20, 20)));
+    }
+    Pedido pedido = new Pedido(12, cubos);
+
+    PedidoResponseDTO response = empacotamentoService.processar(pedido);
+
+    assertEquals(2, response.getCaixas().size());
+    assertEquals("Caixa 1", response.getCaixas().get(0).getCaixa_id());
+    assertEquals(
+        Arrays.asList("Cubo0", "Cubo1", "Cubo2", "Cubo3"),
+        response.getCaixas().get(0).getProdutos());
+    assertEquals("Caixa 1", response.getCaixas().get(1).getCaixa_id());
+    assertEquals(
+        Arrays.asList("Cubo4", "Cubo5", "Cubo6", "Cubo7"),
+        response.getCaixas().get(1).getProdutos());
+  }
+
+  @Test
+  @DisplayName("Pedido com 30 itens é empacotado dentro de um orçamento fixo de heap")
+  void testProcessar_thirtyItemsWithinHeapBudget() {
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      produtos.add(new Produto("Cartucho" + i, new Dimensao(3, 10, 10)));
+    }
+    Pedido pedido = new Pedido(13, produtos);
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    long alocadoAntes = threadMXBean.getThreadAllocatedBytes(threadId);
+    PedidoResponseDTO response = empacotamentoService.processar(pedido);
+    long alocado = threadMXBean.getThreadAllocatedBytes(threadId) - alocadoAntes;
+
+    assertEquals(2, response.getCaixas().size());
+    assertEquals(26, response.getCaixas().get(0).getProdutos().size());
+    assertEquals(4, response.getCaixas().get(1).getProdutos().size());
+    assertTrue(alocado < 256 * 1024, "Empacotamento alocou " + alocado + " bytes");
+  }
+
+  @Test
+  @DisplayName("Busca exaustiva concluída é marcada como ótima, com tempo e nós explorados")
+  void testProcessar_completedSearchIsMarkedOptimal() {
+    Produto ps5 = new Produto("PS5", new Dimensao(40, 10, 25));
+    Produto volante = new Produto("Volante", new Dimensao(40, 30, 30));
+    Pedido pedido = new Pedido(1, Arrays.asList(ps5, volante));
+
+    PedidoResponseDTO response = empacotamentoService.processar(pedido);
+
+    assertTrue(response.getOtimo());
+    assertNotNull(response.getTempo_ms());
+    assertTrue(response.getNos_explorados() > 0);
+  }
+
+  @Test
+  @DisplayName(
+      "Pedido patológico respeita o tempo limite e é completado pela heurística de reserva")
+  void testProcessar_deadlineFallsBackToHeuristic() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.setTempoLimite(Duration.ofMillis(100));
+    EmpacotamentoServiceImpl servicoComPrazo = criarServico(properties);
+    List<Produto> produtos = new ArrayList<>();
+    // espessuras 4 e 2: o limite de tamanho não é justo e o primeiro grupo que cabe fica muito
+    // adiante na ordem lexicográfica; comprimentos distintos para que nenhum produto se repita
+    for (int i = 0; i < 40; i++) {
+      produtos.add(new Produto("Cartucho" + i, new Dimensao(i < 20 ? 4 : 2, 10, 10 + i)));
+    }
+
+    PedidoResponseDTO response = servicoComPrazo.processar(new Pedido(14, produtos));
+
+    assertFalse(response.getOtimo());
+    assertTrue(response.getTempo_ms() < 2000, "Levou " + response.getTempo_ms() + " ms");
+    assertTrue(response.getNos_explorados() > 0);
+    List<String> alocados = new ArrayList<>();
+    response.getCaixas().forEach(caixa -> alocados.addAll(caixa.getProdutos()));
+    assertEquals(40, alocados.size());
+    assertEquals(40, alocados.stream().distinct().count());
+    assertEquals(2, response.getCaixas().size());
+  }
+
+  @Test
+  @DisplayName("Heurísticas não são marcadas como ótimas")
+  void testProcessar_heuristicIsNotOptimal() {
+    Produto produto = new Produto("ProdutoPequeno", new Dimensao(10, 10, 10));
+    Pedido pedido = new Pedido(15, Collections.singletonList(produto));
+
+    PedidoResponseDTO response =
+        empacotamentoService.processar(pedido, TipoEstrategia.FIRST_FIT_DECREASING);
+
+    assertEquals("Caixa 1", response.getCaixas().get(0).getCaixa_id());
+    assertFalse(response.getOtimo());
+  }
+
+  @Test
+  @DisplayName("Pedido repetido com outros ids é remontado a partir do cache de pedidos")
+  void testProcessar_repeatedOrderServedFromCache() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    CachePedidos cachePedidos = new CachePedidos(properties);
+    EmpacotamentoServiceImpl servico = criarServico(properties, cachePedidos);
+    Pedido original =
+        new Pedido(
+            20,
+            Arrays.asList(
+                new Produto("Console", new Dimensao(40, 10, 25)),
+                new Produto("Volante", new Dimensao(40, 30, 30)),
+                new Produto("Cadeira", new Dimensao(120, 60, 70))));
+    Pedido repetido =
+        new Pedido(
+            21,
+            Arrays.asList(
+                new Produto("Cadeira B", new Dimensao(70, 120, 60)),
+                new Produto("Console B", new Dimensao(10, 25, 40)),
+                new Produto("Volante B", new Dimensao(30, 40, 30))));
+
+    PedidoResponseDTO primeira = servico.processar(original);
+    PedidoResponseDTO segunda = servico.processar(repetido);
+
+    assertEquals(21, segunda.getPedido_id());
+    assertEquals(0, segunda.getNos_explorados());
+    assertEquals(primeira.getOtimo(), segunda.getOtimo());
+    assertEquals(primeira.getCaixas().size(), segunda.getCaixas().size());
+    for (int i = 0; i < primeira.getCaixas().size(); i++) {
+      CaixaDTO caixaOriginal = primeira.getCaixas().get(i);
+      CaixaDTO caixaRepetida = segunda.getCaixas().get(i);
+      assertEquals(caixaOriginal.getCaixa_id(), caixaRepetida.getCaixa_id());
+      assertEquals(caixaOriginal.getObservacao(), caixaRepetida.getObservacao());
+      for (int j = 0; j < caixaOriginal.getProdutos().size(); j++) {
+        assertEquals(caixaOriginal.getProdutos().get(j) + " B", caixaRepetida.getProdutos().get(j));
+      }
+    }
+    assertEquals(1, cachePedidos.estatisticas().hitCount());
+    assertEquals(1, cachePedidos.tamanho());
+  }
+
+  @Test
+  @DisplayName("Cache de pedidos separa os resultados por estratégia")
+  void testProcessar_orderCacheIsPerStrategy() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    CachePedidos cachePedidos = new CachePedidos(properties);
+    EmpacotamentoServiceImpl servico = criarServico(properties, cachePedidos);
+    Pedido pedido =
+        new Pedido(22, Collections.singletonList(new Produto("Mouse", new Dimensao(5, 8, 12))));
+
+    servico.processar(pedido, TipoEstrategia.EXAUSTIVA);
+    PedidoResponseDTO heuristica = servico.processar(pedido, TipoEstrategia.FIRST_FIT_DECREASING);
+
+    assertFalse(heuristica.getOtimo());
+    assertEquals(0, cachePedidos.estatisticas().hitCount());
+    assertEquals(2, cachePedidos.tamanho());
+  }
+
+  @Test
+  @DisplayName("Métricas registram duração, nós, orientações, caixas especiais e acertos do cache")
+  void testProcessar_registraMetricas() {
+    Produto gigante = new Produto("Gigante", new Dimensao(200, 200, 200));
+    Produto mouse = new Produto("Mouse", new Dimensao(5, 8, 12));
+    Pedido pedido = new Pedido(30, List.of(gigante, mouse));
+
+    empacotamentoService.processar(pedido, TipoEstrategia.PONTOS_EXTREMOS);
+    empacotamentoService.processar(pedido, TipoEstrategia.PONTOS_EXTREMOS);
+    empacotamentoService.processar(pedido, TipoEstrategia.EXAUSTIVA);
+
+    assertEquals(
+        2,
+        registry
+            .get("embalagem.pedido.duracao")
+            .tags("estrategia", "pontos-extremos", "produtos", "2-5")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("embalagem.pedido.cache.acertos")
+            .tag("estrategia", "pontos-extremos")
+            .counter()
+            .count());
+    // o produto gigante vai para uma caixa especial em todas as respostas, inclusive a do cache
+    assertEquals(
+        2,
+        registry
+            .get("embalagem.caixas.especiais")
+            .tag("estrategia", "pontos-extremos")
+            .counter()
+            .count());
+    assertTrue(
+        registry
+                .get("embalagem.busca.orientacoes")
+                .tag("estrategia", "pontos-extremos")
+                .counter()
+                .count()
+            > 0);
+    assertTrue(
+        registry.get("embalagem.busca.nos").tag("estrategia", "exaustiva").counter().count() > 0);
+    assertEquals(
+        0,
+        registry
+            .get("embalagem.busca.orientacoes")
+            .tag("estrategia", "exaustiva")
+            .counter()
+            .count());
+  }
 }
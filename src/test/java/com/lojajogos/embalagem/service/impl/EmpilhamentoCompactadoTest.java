@@ -0,0 +1,93 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmpilhamentoCompactadoTest {
+
+  private static final long ORCAMENTO_HEAP_BYTES = 64 * 1024;
+
+  private static final TipoCaixa CAIXA =
+      new TipoCaixa("Caixa 2", new Dimensao(80, 50, 40), new BigDecimal("1.80"));
+
+  @Test
+  @DisplayName("Aceita exatamente os mesmos grupos que o Empilhamento")
+  void testEquivaleAoEmpilhamento() {
+    Random random = new Random(7);
+    ProdutosCompactados produtos = new ProdutosCompactados(produtosAleatorios(12, random));
+    // só as posições ímpares estão ativas, para exercitar o mapeamento de índices
+    int[] ativos = {1, 3, 5, 7, 9, 11};
+    EmpilhamentoCompactado compactado =
+        new EmpilhamentoCompactado(CAIXA, produtos, ativos, ativos.length);
+    Empilhamento empilhamento = new Empilhamento(CAIXA.getDimensoes());
+
+    int[] indices = new int[ativos.length];
+    for (int k = 1; k <= ativos.length; k++) {
+      Combinacoes.primeira(indices, k);
+      do {
+        empilhamento.reiniciar(CAIXA.getDimensoes());
+        boolean esperado = true;
+        for (int i = 0; i < k && esperado; i++) {
+          esperado = empilhamento.adicionar(produtos.produto(ativos[indices[i]]).getDimensoes());
+        }
+        assertEquals(esperado, compactado.cabe(indices, k));
+      } while (Combinacoes.proxima(indices, k, ativos.length));
+    }
+  }
+
+  @Test
+  @DisplayName("Testar grupos de um pedido com 20 itens não aloca memória proporcional")
+  void testVerificacaoDentroDoOrcamentoDeHeap() {
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    int n = 20;
+    ProdutosCompactados produtos = new ProdutosCompactados(produtosAleatorios(n, new Random(3)));
+    int[] ativos = new int[n];
+    for (int i = 0; i < n; i++) {
+      ativos[i] = i;
+    }
+    EmpilhamentoCompactado compactado = new EmpilhamentoCompactado(CAIXA, produtos, ativos, n);
+    int[] indices = new int[n];
+
+    long alocadoAntes = threadMXBean.getThreadAllocatedBytes(threadId);
+    long aceitos = 0;
+    for (int k = 1; k <= 5; k++) {
+      Combinacoes.primeira(indices, k);
+      do {
+        if (compactado.cabe(indices, k)) {
+          aceitos++;
+        }
+      } while (Combinacoes.proxima(indices, k, n));
+    }
+    long alocado = threadMXBean.getThreadAllocatedBytes(threadId) - alocadoAntes;
+
+    assertTrue(aceitos > 0);
+    assertTrue(
+        alocado < ORCAMENTO_HEAP_BYTES,
+        "Verificação alocou " + alocado + " bytes, acima do orçamento de " + ORCAMENTO_HEAP_BYTES);
+  }
+
+  private static List<Produto> produtosAleatorios(int quantidade, Random random) {
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < quantidade; i++) {
+      produtos.add(
+          new Produto(
+              "P" + i,
+              new Dimensao(
+                  5 + random.nextInt(40), 5 + random.nextInt(40), 5 + random.nextInt(60))));
+    }
+    return produtos;
+  }
+}
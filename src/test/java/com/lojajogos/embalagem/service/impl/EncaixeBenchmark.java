@@ -0,0 +1,91 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.benchmark.Cenarios;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Teste de encaixe de um grupo isolado, que é o laço interno da busca exaustiva: a versão sobre
+// arrays usada na busca e o Empilhamento sobre objetos Dimensao, para os mesmos grupos. Fica neste
+// pacote porque as duas classes são internas a service.impl.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncaixeBenchmark {
+
+  private static final int GRUPOS = 1024;
+
+  @Param({"2", "5", "10"})
+  private int tamanhoGrupo;
+
+  @Param({"UNIFORME", "MINUSCULOS", "QUASE_CAIXA", "GRANDES"})
+  private Cenarios.Distribuicao distribuicao;
+
+  private TipoCaixa caixa;
+  private List<Produto> produtos;
+  private EmpilhamentoCompactado compactado;
+  private Empilhamento empilhamento;
+  // grupos aleatórios de índices crescentes em [0, 40), um após o outro
+  private int[][] grupos;
+  private int proximo;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    int n = 40;
+    produtos = Cenarios.pedido(1, n, distribuicao, 42).getProdutos();
+    List<TipoCaixa> catalogo = Cenarios.catalogoPadrao();
+    caixa = catalogo.get(catalogo.size() - 1);
+    int[] ativos = new int[n];
+    for (int i = 0; i < n; i++) {
+      ativos[i] = i;
+    }
+    compactado = new EmpilhamentoCompactado(caixa, new ProdutosCompactados(produtos), ativos, n);
+    empilhamento = new Empilhamento(caixa.getDimensoes());
+
+    Random random = new Random(7);
+    grupos = new int[GRUPOS][];
+    for (int g = 0; g < GRUPOS; g++) {
+      grupos[g] = new int[tamanhoGrupo];
+      Combinacoes.desranquear(
+          grupos[g],
+          tamanhoGrupo,
+          n,
+          (long) (random.nextDouble() * Combinacoes.binomial(n, tamanhoGrupo)));
+    }
+  }
+
+  @Benchmark
+  public boolean compactado() {
+    int[] grupo = grupos[proximo++ & (GRUPOS - 1)];
+    return compactado.cabe(grupo, tamanhoGrupo);
+  }
+
+  @Benchmark
+  public boolean empilhamento() {
+    int[] grupo = grupos[proximo++ & (GRUPOS - 1)];
+    empilhamento.reiniciar(caixa.getDimensoes());
+    for (int i = 0; i < tamanhoGrupo; i++) {
+      if (!empilhamento.adicionar(produtos.get(grupo[i]).getDimensoes())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,337 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.CatalogoCaixas;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EstrategiaExaustivaTest {
+
+  private ForkJoinPool poolSequencial;
+  private ForkJoinPool poolParalelo;
+  private EstrategiaExaustiva sequencial;
+  private EstrategiaExaustiva paralela;
+  private CacheEncaixe cacheEncaixe;
+  private CatalogoServiceImpl catalogoService;
+
+  @BeforeEach
+  void setUp() {
+    poolSequencial = new ForkJoinPool(1);
+    poolParalelo = new ForkJoinPool(4);
+    EmbalagemProperties padrao = new EmbalagemProperties();
+    catalogoService = new CatalogoServiceImpl(padrao, new ObjectMapper(), evento -> {});
+    cacheEncaixe = new CacheEncaixe(padrao);
+    sequencial = new EstrategiaExaustiva(poolSequencial, padrao, cacheEncaixe, catalogoService);
+
+    // limiar baixo para que mesmo pedidos pequenos passem pela busca dividida, e sem cache para
+    // que cada repetição refaça a busca
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getParalelismo().setLimiarBusca(64);
+    properties.getCacheEncaixe().setMaxEntradas(0);
+    paralela =
+        new EstrategiaExaustiva(
+            poolParalelo, properties, new CacheEncaixe(properties), catalogoService);
+  }
+
+  @AfterEach
+  void tearDown() {
+    poolSequencial.shutdownNow();
+    poolParalelo.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Busca paralela escolhe as mesmas caixas e grupos que a sequencial")
+  void testBuscaParalelaDeterministica() {
+    Random random = new Random(42);
+    for (int pedidoId = 1; pedidoId <= 20; pedidoId++) {
+      Pedido pedido = pedidoAleatorio(pedidoId, 10 + random.nextInt(7), random);
+
+      List<String> esperado =
+          descrever(sequencial.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas());
+      for (int repeticao = 0; repeticao < 3; repeticao++) {
+        List<String> obtido =
+            descrever(paralela.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas());
+        assertEquals(esperado, obtido, "Pedido " + pedidoId + " divergiu na busca paralela");
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Busca paralela respeita o prazo e devolve o que não foi alocado")
+  void testBuscaParalelaRespeitaPrazo() {
+    List<Produto> produtos = new ArrayList<>();
+    // espessuras 4 e 2: o limite de tamanho não é justo e o primeiro grupo que cabe fica muito
+    // adiante na ordem lexicográfica; comprimentos distintos para que nenhum produto se repita e a
+    // busca por quantidade de cada medida não se aplique
+    for (int i = 0; i < 40; i++) {
+      produtos.add(new Produto("Cartucho " + i, new Dimensao(i < 20 ? 4 : 2, 10, 10 + i)));
+    }
+
+    ContextoBusca contexto = ContextoBusca.comPrazo(Duration.ofMillis(100));
+    ResultadoEmpacotamento resultado = paralela.empacotar(new Pedido(1, produtos), contexto);
+
+    assertTrue(contexto.isEsgotado());
+    assertFalse(resultado.getNaoAlocados().isEmpty());
+    assertTrue(contexto.getDecorridoMillis() < 2000, "Busca não parou perto do prazo");
+  }
+
+  @Test
+  @DisplayName("Pedido com as mesmas medidas reaproveita os grupos do cache sem refazer a busca")
+  void testCacheReaproveitaGruposDeMedidasIguais() {
+    Random random = new Random(7);
+    Pedido original = pedidoAleatorio(1, 14, random);
+    List<Produto> mesmasMedidas = new ArrayList<>();
+    for (int i = original.getProdutos().size() - 1; i >= 0; i--) {
+      Dimensao dim = original.getProdutos().get(i).getDimensoes();
+      // mesmas medidas em outra ordem e com as faces giradas
+      mesmasMedidas.add(
+          new Produto(
+              "Repetido " + i,
+              new Dimensao(dim.getComprimento(), dim.getAltura(), dim.getLargura())));
+    }
+    Pedido repetido = new Pedido(2, mesmasMedidas);
+
+    List<Caixa> primeira = sequencial.empacotar(original, ContextoBusca.semPrazo()).getCaixas();
+    long acertosAntes = cacheEncaixe.estatisticas().hitCount();
+    ContextoBusca contexto = ContextoBusca.semPrazo();
+    List<Caixa> segunda = sequencial.empacotar(repetido, contexto).getCaixas();
+
+    assertTrue(cacheEncaixe.estatisticas().hitCount() > acertosAntes);
+    assertEquals(0, contexto.getNosExplorados());
+    assertEquals(primeira.size(), segunda.size());
+    for (int i = 0; i < primeira.size(); i++) {
+      assertEquals(primeira.get(i).getId(), segunda.get(i).getId());
+      assertEquals(primeira.get(i).getProdutos().size(), segunda.get(i).getProdutos().size());
+    }
+  }
+
+  @Test
+  @DisplayName("Cache limitado descarta entradas e pode ser limpo")
+  void testCacheLimitado() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getCacheEncaixe().setMaxEntradas(4);
+    CacheEncaixe cache = new CacheEncaixe(properties);
+    EstrategiaExaustiva estrategia =
+        new EstrategiaExaustiva(poolSequencial, properties, cache, catalogoService);
+    Random random = new Random(3);
+
+    for (int pedidoId = 1; pedidoId <= 10; pedidoId++) {
+      estrategia.empacotar(pedidoAleatorio(pedidoId, 6, random), ContextoBusca.semPrazo());
+    }
+    cache.limpar();
+
+    assertTrue(cache.estatisticas().missCount() > 4);
+    assertEquals(0, cache.tamanho());
+  }
+
+  @Test
+  @DisplayName("Filtros de volume, dominância e tamanho não mudam os grupos escolhidos")
+  void testFiltrosPreservamOsGrupos() {
+    Random random = new Random(11);
+    CatalogoCaixas catalogo = catalogoService.atual();
+    for (int pedidoId = 1; pedidoId <= 20; pedidoId++) {
+      // medidas até 60 para que parte dos produtos não caiba sozinha na Caixa 1
+      int quantidade = 8 + random.nextInt(4);
+      List<Produto> produtos = new ArrayList<>();
+      for (int i = 0; i < quantidade; i++) {
+        produtos.add(
+            new Produto(
+                "P" + pedidoId + "-" + i,
+                new Dimensao(
+                    5 + random.nextInt(56), 5 + random.nextInt(56), 5 + random.nextInt(56))));
+      }
+      Pedido pedido = new Pedido(pedidoId, produtos);
+
+      assertEquals(
+          descrever(referencia(catalogo, pedido)),
+          descrever(sequencial.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()),
+          "Pedido " + pedidoId + " divergiu da busca sem filtros");
+    }
+
+    ContadoresPoda contadores = sequencial.getContadoresPoda();
+    assertTrue(contadores.getProdutosPorDominancia() > 0);
+    assertTrue(contadores.getTamanhosPorLimite() > 0);
+    assertTrue(contadores.getGruposPorExtensao() > 0);
+    assertTrue(
+        contadores.getGruposPorVolume() + contadores.getGruposPorExtensao()
+            < contadores.getGruposTestados());
+  }
+
+  @Test
+  @DisplayName("Produtos repetidos, agrupados por medidas, formam os mesmos grupos da varredura")
+  void testProdutosRepetidosMesmosGrupos() {
+    Random random = new Random(13);
+    CatalogoCaixas catalogo = catalogoService.atual();
+    for (int pedidoId = 1; pedidoId <= 20; pedidoId++) {
+      Pedido pedido =
+          pedidoComRepetidos(pedidoId, 8 + random.nextInt(4), 1 + random.nextInt(3), random);
+
+      List<String> esperado = descrever(referencia(catalogo, pedido));
+      assertEquals(
+          esperado,
+          descrever(sequencial.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()),
+          "Pedido " + pedidoId + " divergiu da busca sem filtros");
+      assertEquals(
+          esperado,
+          descrever(paralela.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()),
+          "Pedido " + pedidoId + " divergiu na busca paralela");
+    }
+  }
+
+  @Test
+  @DisplayName("Pedido de 40 produtos de 4 medidas é empacotado sem enumerar combinações")
+  void testQuarentaProdutosDeQuatroMedidas() {
+    Pedido pedido = pedidoComRepetidos(1, 40, 4, new Random(17));
+
+    ContextoBusca contexto = ContextoBusca.semPrazo();
+    List<Caixa> caixas = sequencial.empacotar(pedido, contexto).getCaixas();
+
+    List<String> ids = new ArrayList<>();
+    caixas.forEach(caixa -> caixa.getProdutos().forEach(produto -> ids.add(produto.getId())));
+    ids.sort(null);
+    List<String> esperados = new ArrayList<>();
+    pedido.getProdutos().forEach(produto -> esperados.add(produto.getId()));
+    esperados.sort(null);
+    assertEquals(esperados, ids);
+    assertTrue(contexto.getNosExplorados() < 10_000, contexto.getNosExplorados() + " nós");
+  }
+
+  @Test
+  @DisplayName("Mais de 128 produtos distintos que cabem na mesma caixa não travam a busca")
+  void testMaisDe128CandidatosDistintos() {
+    // Os finos só cabem na Caixa 3 e um por caixa; o único par que cabe é o dos dois largos, que
+    // por volume ficam por último, no fim da ordem lexicográfica de C(130, 2).
+    List<Produto> produtos = new ArrayList<>();
+    for (int a = 45; a <= 60 && produtos.size() < 128; a++) {
+      for (int b = a; b <= 80 && produtos.size() < 128; b++) {
+        produtos.add(new Produto("Fino " + a + "x" + b, new Dimensao(41, a, b)));
+      }
+    }
+    produtos.add(new Produto("Largo 55", new Dimensao(20, 55, 70)));
+    produtos.add(new Produto("Largo 56", new Dimensao(20, 56, 70)));
+    Pedido pedido = new Pedido(1, produtos);
+
+    ContextoBusca contexto = ContextoBusca.comPrazo(Duration.ofSeconds(2));
+    ResultadoEmpacotamento resultado =
+        assertTimeoutPreemptively(
+            Duration.ofSeconds(30), () -> sequencial.empacotar(pedido, contexto));
+
+    List<String> ids = new ArrayList<>();
+    resultado
+        .getCaixas()
+        .forEach(caixa -> caixa.getProdutos().forEach(produto -> ids.add(produto.getId())));
+    resultado.getNaoAlocados().forEach(produto -> ids.add(produto.getId()));
+    assertEquals(130, ids.size());
+    assertEquals(130, ids.stream().distinct().count());
+    assertTrue(
+        resultado.getCaixas().stream().anyMatch(caixa -> caixa.getProdutos().size() == 2),
+        "Os dois largos deveriam dividir uma caixa");
+  }
+
+  // Busca exaustiva sem filtros: primeira caixa do catálogo em que algum grupo cabe, maior grupo e,
+  // entre os de mesmo tamanho, o primeiro na ordem lexicográfica.
+  private List<Caixa> referencia(CatalogoCaixas catalogo, Pedido pedido) {
+    List<Produto> restantes = new ArrayList<>(Encaixe.ordenarPorVolume(pedido.getProdutos()));
+    List<Caixa> caixas = new ArrayList<>();
+    while (!restantes.isEmpty()) {
+      int n = restantes.size();
+      int[] grupo = null;
+      TipoCaixa escolhida = null;
+      for (TipoCaixa tipo : catalogo.getTipos()) {
+        Empilhamento empilhamento = new Empilhamento(tipo.getDimensoes());
+        int[] indices = new int[n];
+        for (int k = n; k >= 1 && grupo == null; k--) {
+          Combinacoes.primeira(indices, k);
+          do {
+            empilhamento.reiniciar(tipo.getDimensoes());
+            boolean cabe = true;
+            for (int i = 0; i < k && cabe; i++) {
+              cabe = empilhamento.adicionar(restantes.get(indices[i]).getDimensoes());
+            }
+            if (cabe) {
+              grupo = Arrays.copyOf(indices, k);
+              break;
+            }
+          } while (Combinacoes.proxima(indices, k, n));
+        }
+        if (grupo != null) {
+          escolhida = tipo;
+          break;
+        }
+      }
+      if (grupo == null) {
+        restantes.forEach(produto -> caixas.add(Encaixe.caixaEspecial(produto)));
+        break;
+      }
+      List<Produto> selecionados = new ArrayList<>();
+      for (int i = grupo.length - 1; i >= 0; i--) {
+        selecionados.add(0, restantes.remove(grupo[i]));
+      }
+      caixas.add(Encaixe.novaCaixa(escolhida, selecionados));
+    }
+    return caixas;
+  }
+
+  private Pedido pedidoAleatorio(int id, int quantidade, Random random) {
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < quantidade; i++) {
+      produtos.add(
+          new Produto(
+              "P" + id + "-" + i,
+              new Dimensao(
+                  5 + random.nextInt(30), 5 + random.nextInt(30), 5 + random.nextInt(30))));
+    }
+    return new Pedido(id, produtos);
+  }
+
+  // Produtos sorteados entre "medidas" medidas distintas, algumas giradas.
+  private Pedido pedidoComRepetidos(int id, int quantidade, int medidas, Random random) {
+    List<Dimensao> skus = new ArrayList<>();
+    for (int i = 0; i < medidas; i++) {
+      skus.add(
+          new Dimensao(5 + random.nextInt(30), 5 + random.nextInt(30), 5 + random.nextInt(30)));
+    }
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < quantidade; i++) {
+      Dimensao dim = skus.get(random.nextInt(medidas));
+      if (random.nextBoolean()) {
+        dim = new Dimensao(dim.getComprimento(), dim.getAltura(), dim.getLargura());
+      }
+      produtos.add(new Produto("P" + id + "-" + i, dim));
+    }
+    return new Pedido(id, produtos);
+  }
+
+  private List<String> descrever(List<Caixa> caixas) {
+    List<String> descricao = new ArrayList<>();
+    for (Caixa caixa : caixas) {
+      StringBuilder linha = new StringBuilder(String.valueOf(caixa.getId()));
+      for (Produto produto : caixa.getProdutos()) {
+        linha.append(' ').append(produto.getId());
+      }
+      descricao.add(linha.toString());
+    }
+    return descricao;
+  }
+}
@@ -0,0 +1,233 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.ObjetivoOtimizacao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.ResultadoEmpacotamento;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class EstrategiaOtimizadaTest {
+
+  private final EmbalagemProperties properties = new EmbalagemProperties();
+  private final CatalogoServiceImpl catalogoService =
+      new CatalogoServiceImpl(properties, new ObjectMapper(), evento -> {});
+  private final EstrategiaFirstFitDecreasing firstFit =
+      new EstrategiaFirstFitDecreasing(catalogoService);
+  private final EstrategiaOtimizada otimizada =
+      new EstrategiaOtimizada(properties, catalogoService, firstFit);
+
+  @Test
+  @DisplayName("Duas Caixas 1 custam menos que a Caixa 3 que o first fit abre")
+  void testCustoMenorQueGuloso() {
+    // cada produto ocupa uma Caixa 1 inteira; juntos só cabem na Caixa 3
+    Pedido pedido =
+        new Pedido(
+            1,
+            Arrays.asList(
+                new Produto("A", new Dimensao(30, 40, 80)),
+                new Produto("B", new Dimensao(80, 30, 40))));
+
+    assertEquals(
+        List.of("Caixa 3"), ids(firstFit.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()));
+
+    ResultadoEmpacotamento resultado = otimizada.empacotar(pedido, ContextoBusca.semPrazo());
+    assertEquals(List.of("Caixa 1", "Caixa 1"), ids(resultado.getCaixas()));
+    assertTrue(resultado.isOtimo());
+
+    properties.getOtimizacao().setObjetivo(ObjetivoOtimizacao.QUANTIDADE);
+    assertEquals(
+        List.of("Caixa 3"), ids(otimizada.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()));
+  }
+
+  @ParameterizedTest
+  @EnumSource(ObjetivoOtimizacao.class)
+  @DisplayName("Resultado igual ao ótimo por força bruta em pedidos pequenos")
+  void testOtimoPorForcaBruta(ObjetivoOtimizacao objetivo) {
+    properties.getOtimizacao().setObjetivo(objetivo);
+    List<TipoCaixa> tipos = catalogoService.atual().getTipos();
+    Random random = new Random(11);
+    for (int pedidoId = 1; pedidoId <= 30; pedidoId++) {
+      Pedido pedido = pedidoAleatorio(pedidoId, 1 + random.nextInt(7), random);
+
+      ResultadoEmpacotamento resultado = otimizada.empacotar(pedido, ContextoBusca.semPrazo());
+
+      assertTrue(resultado.isOtimo());
+      assertAlocadosUmaVez(pedido, resultado.getCaixas());
+      for (Caixa caixa : resultado.getCaixas()) {
+        assertTrue(cabe(caixa.getDimensoes(), caixa.getProdutos()), "Pedido " + pedidoId);
+      }
+      assertEquals(
+          forcaBruta(pedido.getProdutos(), tipos, objetivo),
+          custo(resultado.getCaixas(), objetivo),
+          "Pedido " + pedidoId + " não chegou ao ótimo");
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(ObjetivoOtimizacao.class)
+  @DisplayName("Nunca pior que o first fit em pedidos de 20 produtos")
+  void testNuncaPiorQueFirstFit(ObjetivoOtimizacao objetivo) {
+    properties.getOtimizacao().setObjetivo(objetivo);
+    Random random = new Random(5);
+    for (int pedidoId = 1; pedidoId <= 10; pedidoId++) {
+      Pedido pedido = pedidoAleatorio(pedidoId, 20, random);
+
+      List<Caixa> caixas = otimizada.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas();
+
+      assertAlocadosUmaVez(pedido, caixas);
+      assertTrue(
+          custo(caixas, objetivo)
+              <= custo(firstFit.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas(), objetivo),
+          "Pedido " + pedidoId);
+    }
+  }
+
+  @Test
+  @DisplayName("Limite de nós devolve a melhor solução completa encontrada, sem marcar ótimo")
+  void testLimiteDeNos() {
+    properties.getOtimizacao().setMaxNos(1);
+    Pedido pedido = pedidoAleatorio(1, 12, new Random(3));
+
+    ResultadoEmpacotamento resultado = otimizada.empacotar(pedido, ContextoBusca.semPrazo());
+
+    assertFalse(resultado.isOtimo());
+    assertTrue(resultado.getNaoAlocados().isEmpty());
+    assertAlocadosUmaVez(pedido, resultado.getCaixas());
+  }
+
+  @Test
+  @DisplayName(
+      "Pedido acima de max-itens usa o first fit, e produto gigante vai para caixa especial")
+  void testPedidoGrandeEProdutoGigante() {
+    properties.getOtimizacao().setMaxItens(4);
+    List<Produto> produtos = new ArrayList<>(pedidoAleatorio(1, 5, new Random(9)).getProdutos());
+    produtos.add(new Produto("Gigante", new Dimensao(200, 200, 200)));
+    Pedido pedido = new Pedido(1, produtos);
+
+    List<Caixa> caixas = otimizada.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas();
+
+    assertEquals(
+        ids(firstFit.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas()), ids(caixas));
+
+    properties.getOtimizacao().setMaxItens(20);
+    caixas = otimizada.empacotar(pedido, ContextoBusca.semPrazo()).getCaixas();
+    assertAlocadosUmaVez(pedido, caixas);
+    Caixa especial = caixas.get(caixas.size() - 1);
+    assertNull(especial.getId());
+    assertEquals("Gigante", especial.getProdutos().get(0).getId());
+  }
+
+  // Menor custo entre todas as partições dos produtos em grupos, cada grupo no tipo mais barato
+  // que o comporta.
+  private static long forcaBruta(
+      List<Produto> produtos, List<TipoCaixa> tipos, ObjetivoOtimizacao objetivo) {
+    return particionar(produtos, 0, new ArrayList<>(), tipos, objetivo);
+  }
+
+  private static long particionar(
+      List<Produto> produtos,
+      int proximo,
+      List<List<Produto>> grupos,
+      List<TipoCaixa> tipos,
+      ObjetivoOtimizacao objetivo) {
+    if (proximo == produtos.size()) {
+      long total = 0;
+      for (List<Produto> grupo : grupos) {
+        long menor = Long.MAX_VALUE;
+        for (TipoCaixa tipo : tipos) {
+          if (cabe(tipo.getDimensoes(), grupo)) {
+            menor = Math.min(menor, objetivo.custo(tipo));
+          }
+        }
+        if (menor == Long.MAX_VALUE) {
+          return Long.MAX_VALUE;
+        }
+        total += menor;
+      }
+      return total;
+    }
+    Produto produto = produtos.get(proximo);
+    long melhor = Long.MAX_VALUE;
+    for (int g = 0; g < grupos.size(); g++) {
+      List<Produto> grupo = grupos.get(g);
+      grupo.add(produto);
+      melhor = Math.min(melhor, particionar(produtos, proximo + 1, grupos, tipos, objetivo));
+      grupo.remove(grupo.size() - 1);
+    }
+    grupos.add(new ArrayList<>(List.of(produto)));
+    melhor = Math.min(melhor, particionar(produtos, proximo + 1, grupos, tipos, objetivo));
+    grupos.remove(grupos.size() - 1);
+    return melhor;
+  }
+
+  private static boolean cabe(Dimensao caixa, List<Produto> produtos) {
+    Empilhamento empilhamento = new Empilhamento(caixa);
+    for (Produto produto : produtos) {
+      if (!empilhamento.adicionar(produto.getDimensoes())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long custo(List<Caixa> caixas, ObjetivoOtimizacao objetivo) {
+    Map<String, TipoCaixa> tipos =
+        catalogoService.atual().getTipos().stream()
+            .collect(Collectors.toMap(TipoCaixa::getId, tipo -> tipo));
+    long total = 0;
+    for (Caixa caixa : caixas) {
+      if (caixa.getId() != null) {
+        total += objetivo.custo(tipos.get(caixa.getId()));
+      }
+    }
+    return total;
+  }
+
+  private static void assertAlocadosUmaVez(Pedido pedido, List<Caixa> caixas) {
+    Map<Produto, Integer> alocacoes = new IdentityHashMap<>();
+    for (Caixa caixa : caixas) {
+      for (Produto produto : caixa.getProdutos()) {
+        alocacoes.merge(produto, 1, Integer::sum);
+      }
+    }
+    assertEquals(pedido.getProdutos().size(), alocacoes.size());
+    assertTrue(alocacoes.values().stream().allMatch(vezes -> vezes == 1));
+  }
+
+  private static List<String> ids(List<Caixa> caixas) {
+    return caixas.stream().map(Caixa::getId).collect(Collectors.toList());
+  }
+
+  private static Pedido pedidoAleatorio(int id, int quantidade, Random random) {
+    List<Produto> produtos = new ArrayList<>(quantidade);
+    for (int i = 0; i < quantidade; i++) {
+      produtos.add(
+          new Produto(
+              "P" + i,
+              new Dimensao(
+                  5 + random.nextInt(45), 5 + random.nextInt(45), 5 + random.nextInt(60))));
+    }
+    return new Pedido(id, produtos);
+  }
+}
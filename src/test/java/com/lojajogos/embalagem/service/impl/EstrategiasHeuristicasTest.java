@@ -0,0 +1,237 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.model.Caixa;
+import com.lojajogos.embalagem.model.Dimensao;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.Posicao;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.service.ContextoBusca;
+import com.lojajogos.embalagem.service.EstrategiaEmpacotamento;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class EstrategiasHeuristicasTest {
+
+  private static final CatalogoServiceImpl CATALOGO =
+      new CatalogoServiceImpl(new EmbalagemProperties(), new ObjectMapper(), evento -> {});
+
+  static Stream<EstrategiaEmpacotamento> heuristicas() {
+    return Stream.of(
+        new EstrategiaFirstFitDecreasing(CATALOGO),
+        new EstrategiaBestFitDecreasing(CATALOGO),
+        new EstrategiaPontosExtremos(CATALOGO));
+  }
+
+  @ParameterizedTest
+  @MethodSource("heuristicas")
+  @DisplayName("Pedido 1 (PS5 e Volante) cabe numa única Caixa 1")
+  void testPedido1CabeNaCaixa1(EstrategiaEmpacotamento estrategia) {
+    Produto ps5 = new Produto("PS5", new Dimensao(40, 10, 25));
+    Produto volante = new Produto("Volante", new Dimensao(40, 30, 30));
+
+    List<Caixa> caixas =
+        estrategia
+            .empacotar(new Pedido(1, Arrays.asList(ps5, volante)), ContextoBusca.semPrazo())
+            .getCaixas();
+
+    assertEquals(1, caixas.size());
+    assertEquals("Caixa 1", caixas.get(0).getId());
+    assertEquals(Arrays.asList(volante, ps5), caixas.get(0).getProdutos());
+  }
+
+  @Test
+  @DisplayName("Ordenação por volume usa long e desempata pela maior e pela menor medida")
+  void testOrdenacaoPorVolume() {
+    // 1300³ e 1400 x 1300 x 1300 passam de Integer.MAX_VALUE; em int ficariam negativos
+    Produto grande = new Produto("Grande", new Dimensao(1_300, 1_300, 1_300));
+    Produto maior = new Produto("Maior", new Dimensao(1_400, 1_300, 1_300));
+    Produto medio = new Produto("Medio", new Dimensao(1_000, 1_000, 1_000));
+    Produto chato = new Produto("Chato", new Dimensao(2_000, 1_000, 500));
+    Produto fino = new Produto("Fino", new Dimensao(2_000, 2_000, 250));
+
+    assertEquals(
+        Arrays.asList(maior, grande, chato, fino, medio),
+        Encaixe.ordenarPorVolume(Arrays.asList(medio, fino, chato, grande, maior)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("heuristicas")
+  @DisplayName("Produto que não cabe em nenhuma caixa vai para a caixa especial")
+  void testProdutoGiganteVaiParaCaixaEspecial(EstrategiaEmpacotamento estrategia) {
+    Produto pequeno = new Produto("Pequeno", new Dimensao(5, 5, 5));
+    Produto gigante = new Produto("Gigante", new Dimensao(200, 200, 200));
+
+    List<Caixa> caixas =
+        estrategia
+            .empacotar(new Pedido(9, Arrays.asList(pequeno, gigante)), ContextoBusca.semPrazo())
+            .getCaixas();
+
+    assertEquals(2, caixas.size());
+    assertEquals("Caixa 1", caixas.get(0).getId());
+    assertNull(caixas.get(1).getId());
+    assertEquals(Collections.singletonList(gigante), caixas.get(1).getProdutos());
+  }
+
+  @ParameterizedTest
+  @MethodSource("heuristicas")
+  @DisplayName("Todos os produtos de um pedido grande são alocados exatamente uma vez")
+  void testPedidoGrandeAlocaTodosOsProdutos(EstrategiaEmpacotamento estrategia) {
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      produtos.add(new Produto("P" + i, new Dimensao(5 + i % 20, 10 + i % 7, 15 + i % 11)));
+    }
+
+    List<Caixa> caixas =
+        estrategia.empacotar(new Pedido(20, produtos), ContextoBusca.semPrazo()).getCaixas();
+
+    List<Produto> alocados = new ArrayList<>();
+    caixas.forEach(caixa -> alocados.addAll(caixa.getProdutos()));
+    assertEquals(produtos.size(), alocados.size());
+    assertTrue(alocados.containsAll(produtos));
+  }
+
+  @ParameterizedTest
+  @MethodSource("heuristicas")
+  @DisplayName("Posições ficam dentro da caixa, sem sobreposição e numa rotação do produto")
+  void testPosicoesValidas(EstrategiaEmpacotamento estrategia) {
+    Random random = new Random(5);
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 30; i++) {
+      produtos.add(
+          new Produto(
+              "P" + i,
+              new Dimensao(
+                  5 + random.nextInt(30), 5 + random.nextInt(30), 5 + random.nextInt(30))));
+    }
+
+    List<Caixa> caixas =
+        estrategia.empacotar(new Pedido(60, produtos), ContextoBusca.semPrazo()).getCaixas();
+
+    for (Caixa caixa : caixas) {
+      List<Posicao> posicoes = caixa.getPosicoes();
+      assertEquals(caixa.getProdutos().size(), posicoes.size());
+      for (int i = 0; i < posicoes.size(); i++) {
+        Posicao p = posicoes.get(i);
+        Dimensao dim = caixa.getProdutos().get(i).getDimensoes();
+        assertEquals(
+            ordenadas(dim.getAltura(), dim.getLargura(), dim.getComprimento()),
+            ordenadas(p.getAltura(), p.getLargura(), p.getComprimento()));
+        assertTrue(
+            p.getX() >= 0
+                && p.getX() + p.getComprimento() <= caixa.getDimensoes().getComprimento());
+        assertTrue(p.getY() >= 0 && p.getY() + p.getLargura() <= caixa.getDimensoes().getLargura());
+        assertTrue(p.getZ() >= 0 && p.getZ() + p.getAltura() <= caixa.getDimensoes().getAltura());
+        for (int j = 0; j < i; j++) {
+          Posicao o = posicoes.get(j);
+          boolean sobrepoe =
+              p.getX() < o.getX() + o.getComprimento()
+                  && o.getX() < p.getX() + p.getComprimento()
+                  && p.getY() < o.getY() + o.getLargura()
+                  && o.getY() < p.getY() + p.getLargura()
+                  && p.getZ() < o.getZ() + o.getAltura()
+                  && o.getZ() < p.getZ() + p.getAltura();
+          assertFalse(sobrepoe, "Produtos " + j + " e " + i + " se sobrepõem em " + caixa.getId());
+        }
+      }
+    }
+  }
+
+  private static List<Integer> ordenadas(int a, int b, int c) {
+    List<Integer> medidas = new ArrayList<>(List.of(a, b, c));
+    Collections.sort(medidas);
+    return medidas;
+  }
+
+  static Stream<EstrategiaEmpacotamento> heuristicasLineares() {
+    return Stream.of(
+        new EstrategiaFirstFitDecreasing(CATALOGO), new EstrategiaBestFitDecreasing(CATALOGO));
+  }
+
+  @ParameterizedTest
+  @MethodSource("heuristicasLineares")
+  @DisplayName("Pedido de palete com 1000 itens repetidos é alocado por inteiro dentro do prazo")
+  void testPedidoDePaleteComItensRepetidos(EstrategiaEmpacotamento estrategia) {
+    // dez SKUs, cada um repetido cem vezes com o mesmo id e as mesmas medidas
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int sku = i % 10;
+      produtos.add(new Produto("SKU" + sku, new Dimensao(5 + sku, 10 + sku, 12 + 2 * sku)));
+    }
+
+    List<Caixa> caixas =
+        assertTimeoutPreemptively(
+            Duration.ofSeconds(2),
+            () ->
+                estrategia
+                    .empacotar(new Pedido(50, produtos), ContextoBusca.semPrazo())
+                    .getCaixas());
+
+    Set<Produto> alocados = Collections.newSetFromMap(new IdentityHashMap<>());
+    caixas.forEach(caixa -> alocados.addAll(caixa.getProdutos()));
+    assertEquals(produtos.size(), caixas.stream().mapToInt(c -> c.getProdutos().size()).sum());
+    assertEquals(produtos.size(), alocados.size());
+  }
+
+  @Test
+  @DisplayName("Best fit escolhe a caixa aberta que fica mais cheia; first fit, a primeira aberta")
+  void testBestFitEscolheCaixaMaisJusta() {
+    Produto grande = new Produto("Grande", new Dimensao(45, 50, 60));
+    Produto medio = new Produto("Medio", new Dimensao(40, 50, 60));
+    Produto complemento = new Produto("Complemento", new Dimensao(38, 50, 60));
+    Produto pequeno = new Produto("Pequeno", new Dimensao(1, 1, 1));
+    Pedido pedido = new Pedido(30, Arrays.asList(pequeno, complemento, medio, grande));
+
+    List<Caixa> bestFit =
+        new EstrategiaBestFitDecreasing(CATALOGO)
+            .empacotar(pedido, ContextoBusca.semPrazo())
+            .getCaixas();
+    List<Caixa> firstFit =
+        new EstrategiaFirstFitDecreasing(CATALOGO)
+            .empacotar(pedido, ContextoBusca.semPrazo())
+            .getCaixas();
+
+    assertEquals(2, bestFit.size());
+    assertEquals(Collections.singletonList(grande), bestFit.get(0).getProdutos());
+    assertEquals(Arrays.asList(medio, complemento, pequeno), bestFit.get(1).getProdutos());
+
+    assertEquals(2, firstFit.size());
+    assertEquals(Arrays.asList(grande, pequeno), firstFit.get(0).getProdutos());
+  }
+
+  @Test
+  @DisplayName("Pontos extremos aproveita o espaço lateral que o empilhamento em linha desperdiça")
+  void testPontosExtremosUsaEspacoLateral() {
+    List<Produto> produtos = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      produtos.add(new Produto("Bloco" + i, new Dimensao(30, 20, 40)));
+    }
+
+    List<Caixa> caixas =
+        new EstrategiaPontosExtremos(CATALOGO)
+            .empacotar(new Pedido(40, produtos), ContextoBusca.semPrazo())
+            .getCaixas();
+
+    assertEquals(1, caixas.size());
+    assertEquals("Caixa 1", caixas.get(0).getId());
+    assertEquals(4, caixas.get(0).getProdutos().size());
+  }
+}
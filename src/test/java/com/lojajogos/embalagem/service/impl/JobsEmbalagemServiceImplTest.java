@@ -0,0 +1,189 @@
+package com.lojajogos.embalagem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lojajogos.embalagem.config.EmbalagemProperties;
+import com.lojajogos.embalagem.config.ExecutorConfig;
+import com.lojajogos.embalagem.dto.request.DimensaoDTO;
+import com.lojajogos.embalagem.dto.request.PedidoDTO;
+import com.lojajogos.embalagem.dto.request.ProdutoDTO;
+import com.lojajogos.embalagem.dto.response.JobDTO;
+import com.lojajogos.embalagem.dto.response.PedidoResponseDTO;
+import com.lojajogos.embalagem.dto.response.ResponseDTO;
+import com.lojajogos.embalagem.model.Pedido;
+import com.lojajogos.embalagem.model.StatusJob;
+import com.lojajogos.embalagem.service.EmpacotamentoService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+@ExtendWith(MockitoExtension.class)
+class JobsEmbalagemServiceImplTest {
+
+  @Mock private EmpacotamentoService empacotamentoServiceMock;
+
+  private ExecutorService executorPedidos;
+  private ThreadPoolExecutor executorJobs;
+  private JobsEmbalagemServiceImpl jobsService;
+
+  @BeforeEach
+  void setUp() {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getJobs().setThreads(1);
+    properties.getJobs().setFila(1);
+    criar(properties);
+  }
+
+  private void criar(EmbalagemProperties properties) {
+    if (executorJobs != null) {
+      executorJobs.shutdownNow();
+      executorPedidos.shutdownNow();
+    }
+    executorJobs = new ExecutorConfig().executorJobs(properties);
+    executorPedidos =
+        (ExecutorService) new ExecutorConfig().executorPedidos(properties, new MockEnvironment());
+    jobsService =
+        new JobsEmbalagemServiceImpl(
+            new EmbalagensServiceImpl(
+                empacotamentoServiceMock, executorPedidos, properties, new ObjectMapper()),
+            executorJobs,
+            properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executorJobs.shutdownNow();
+    executorPedidos.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Job concluído informa o progresso completo e guarda a resposta do lote")
+  void testJobConcluido() throws Exception {
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation ->
+                new PedidoResponseDTO(
+                    invocation.<Pedido>getArgument(0).getId(), Collections.emptyList()));
+
+    JobDTO submetido = jobsService.submeter(pedidos(5), null);
+    assertEquals(5, submetido.getPedidos_total());
+    JobDTO job = aguardarFim(submetido.getJob_id());
+
+    assertEquals(StatusJob.CONCLUIDO, job.getStatus());
+    assertEquals(5, job.getPedidos_concluidos());
+    ResponseDTO resultado = jobsService.resultado(submetido.getJob_id()).orElseThrow();
+    assertEquals(5, resultado.getPedidos().size());
+    assertEquals(4, resultado.getPedidos().get(4).getPedido_id());
+  }
+
+  @Test
+  @DisplayName("Submissão com a fila cheia é recusada e não deixa job registrado")
+  void testFilaCheia() throws Exception {
+    CountDownLatch liberar = new CountDownLatch(1);
+    CountDownLatch iniciou = new CountDownLatch(1);
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              iniciou.countDown();
+              liberar.await();
+              return new PedidoResponseDTO(1, Collections.emptyList());
+            });
+
+    JobDTO executando = jobsService.submeter(pedidos(1), null);
+    assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+    JobDTO enfileirado = jobsService.submeter(pedidos(1), null);
+    assertThrows(RejectedExecutionException.class, () -> jobsService.submeter(pedidos(1), null));
+
+    assertEquals(
+        StatusJob.EXECUTANDO, jobsService.consultar(executando.getJob_id()).get().getStatus());
+    assertEquals(
+        StatusJob.PENDENTE, jobsService.consultar(enfileirado.getJob_id()).get().getStatus());
+    assertFalse(jobsService.resultado(enfileirado.getJob_id()).isPresent());
+    assertEquals(2, executorJobs.getQueue().size() + executorJobs.getActiveCount());
+    liberar.countDown();
+    assertEquals(StatusJob.CONCLUIDO, aguardarFim(enfileirado.getJob_id()).getStatus());
+  }
+
+  @Test
+  @DisplayName("Job em execução continua consultável enquanto os concluídos enchem o cache")
+  void testJobEmExecucaoForaDoLimiteDeResultados() throws Exception {
+    EmbalagemProperties properties = new EmbalagemProperties();
+    properties.getJobs().setThreads(2);
+    properties.getJobs().getResultados().setMaxEntradas(2);
+    // uma vaga de empacotamento para o job bloqueado e outra para os que terminam
+    properties.getParalelismo().setMaxEmpacotamentos(2);
+    criar(properties);
+    CountDownLatch liberar = new CountDownLatch(1);
+    CountDownLatch iniciou = new CountDownLatch(1);
+    when(empacotamentoServiceMock.processar(any(Pedido.class), isNull()))
+        .thenAnswer(
+            invocation -> {
+              int id = invocation.<Pedido>getArgument(0).getId();
+              if (id < 0) {
+                iniciou.countDown();
+                liberar.await();
+              }
+              return new PedidoResponseDTO(id, Collections.emptyList());
+            });
+
+    JobDTO executando =
+        jobsService.submeter(
+            List.of(new PedidoDTO(-1, List.of(new ProdutoDTO("P", new DimensaoDTO(1, 1, 1))))),
+            null);
+    assertTrue(iniciou.await(5, TimeUnit.SECONDS));
+    List<String> concluidos = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      String id = jobsService.submeter(pedidos(1), null).getJob_id();
+      assertEquals(StatusJob.CONCLUIDO, aguardarFim(id).getStatus());
+      concluidos.add(id);
+      assertEquals(
+          StatusJob.EXECUTANDO, jobsService.consultar(executando.getJob_id()).get().getStatus());
+    }
+
+    liberar.countDown();
+    assertEquals(StatusJob.CONCLUIDO, aguardarFim(executando.getJob_id()).getStatus());
+    assertTrue(jobsService.resultado(executando.getJob_id()).isPresent());
+    // os concluídos continuam limitados por max-entradas
+    assertTrue(
+        concluidos.stream().filter(id -> jobsService.consultar(id).isPresent()).count() < 50);
+  }
+
+  private JobDTO aguardarFim(String id) throws InterruptedException {
+    long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    JobDTO job = jobsService.consultar(id).orElseThrow();
+    while ((job.getStatus() == StatusJob.PENDENTE || job.getStatus() == StatusJob.EXECUTANDO)
+        && System.nanoTime() < limite) {
+      Thread.sleep(5);
+      job = jobsService.consultar(id).orElseThrow();
+    }
+    return job;
+  }
+
+  private static List<PedidoDTO> pedidos(int quantidade) {
+    List<PedidoDTO> pedidos = new ArrayList<>();
+    for (int i = 0; i < quantidade; i++) {
+      pedidos.add(new PedidoDTO(i, List.of(new ProdutoDTO("P" + i, new DimensaoDTO(10, 10, 10)))));
+    }
+    return pedidos;
+  }
+}
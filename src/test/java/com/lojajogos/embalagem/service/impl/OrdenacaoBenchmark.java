@@ -0,0 +1,61 @@
+package com.lojajogos.embalagem.service.impl;
+
+import com.lojajogos.embalagem.benchmark.Cenarios;
+import com.lojajogos.embalagem.model.Produto;
+import com.lojajogos.embalagem.model.TipoCaixa;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Ordenação dos produtos por volume, feita no início de toda estratégia, e teste de encaixe de um
+// produto sozinho em cada tipo do catálogo, usado na triagem de caixas especiais e na escolha do
+// tipo. Fica neste pacote porque Encaixe é interno a service.impl.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrdenacaoBenchmark {
+
+  @Param({"20", "1000"})
+  private int produtos;
+
+  private List<Produto> pedido;
+  private List<TipoCaixa> catalogo;
+
+  @Setup(Level.Trial)
+  public void preparar() {
+    pedido = Cenarios.pedido(1, produtos, Cenarios.Distribuicao.UNIFORME, 42).getProdutos();
+    catalogo = Cenarios.catalogo(Cenarios.catalogoPadrao(), 20);
+  }
+
+  @Benchmark
+  public List<Produto> ordenar() {
+    return Encaixe.ordenarPorVolume(pedido);
+  }
+
+  @Benchmark
+  public int encaixar() {
+    int encaixes = 0;
+    for (Produto produto : pedido) {
+      for (TipoCaixa tipo : catalogo) {
+        if (tipo.comporta(produto.getDimensoes())) {
+          encaixes++;
+        }
+      }
+    }
+    return encaixes;
+  }
+}